@@ -0,0 +1,89 @@
+package com.ecommerce.project.benchmarks;
+
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.OrderStatus;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the ones the services map, without back references that the mapped
+ * DTOs never read.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Product product(long id) {
+        Category category = new Category(id % 50 + 1, "Category " + (id % 50 + 1), null);
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName("Product " + id);
+        product.setImage("product-" + id + ".png");
+        product.setDescription("Description of product " + id + " with a few more words in it");
+        product.setQuantity((int) (id % 100));
+        product.setPrice(id % 1000 + 0.99);
+        product.setDiscount(id % 50);
+        product.setSpecialPrice(product.getPrice() * (1 - product.getDiscount() / 100));
+        product.setCategory(category);
+        return product;
+    }
+
+    static Cart cart(int items) {
+        Cart cart = new Cart();
+        cart.setCartId(42L);
+        double total = 0;
+        for (int i = 1; i <= items; i++) {
+            Product product = product(i);
+            CartItem cartItem = new CartItem(null, cart, product, 1 + i % 3, product.getDiscount(), product.getSpecialPrice());
+            cart.getCartItems().add(cartItem);
+            total += cartItem.getProductPrice() * cartItem.getQuantity();
+        }
+        cart.setTotalPrice(total);
+        return cart;
+    }
+
+    static Order order(int items) {
+        Order order = new Order();
+        order.setId(4242L);
+        order.setEmail("user42@example.com");
+        order.setOrderDate(LocalDate.now());
+        order.setOrderStatus(OrderStatus.ACCEPTED);
+        order.setPayment(new Payment("card", "pi_4242", "succeeded", "ok", "Stripe"));
+        Address address = new Address("Street 42", "Building 42", "Bengaluru", "Karnataka", "India", "560001");
+        address.setAddressId(42L);
+        order.setAddress(address);
+        double total = 0;
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            Product product = product(i);
+            orderItems.add(new OrderItem((long) i, product, null, 1, product.getDiscount(), product.getSpecialPrice()));
+            total += product.getSpecialPrice();
+        }
+        order.setOrderItems(orderItems);
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    static ProductResponse productResponse(int pageSize) {
+        List<ProductDTO> content = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            Product product = product(i);
+            content.add(new ProductDTO(product.getProductId(), product.getProductName(),
+                    "http://localhost:8080/images/" + product.getImage(), product.getDescription(),
+                    product.getQuantity(), product.getPrice(), product.getDiscount(), product.getSpecialPrice()));
+        }
+        return new ProductResponse(content, 0, pageSize, 200_000L, 200_000 / pageSize, false);
+    }
+}
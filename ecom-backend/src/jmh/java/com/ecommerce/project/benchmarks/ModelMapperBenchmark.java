@@ -0,0 +1,71 @@
+package com.ecommerce.project.benchmarks;
+
+import com.ecommerce.project.config.AppConfig;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModelMapper conversions as the services perform them, using the application's mapper configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    @Param({"1", "10"})
+    private int items;
+
+    private ModelMapper modelMapper;
+
+    private Product product;
+
+    private Cart cart;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new AppConfig().modelMapper();
+        product = BenchmarkData.product(1);
+        cart = BenchmarkData.cart(items);
+        order = BenchmarkData.order(items);
+    }
+
+    @Benchmark
+    public ProductDTO product() {
+        return modelMapper.map(product, ProductDTO.class);
+    }
+
+    // CartServiceImpl maps the cart, then each item's product
+    @Benchmark
+    public CartDTO cart() {
+        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+        List<ProductDTO> products = new ArrayList<>(cart.getCartItems().size());
+        for (CartItem item : cart.getCartItems()) {
+            ProductDTO productDTO = modelMapper.map(item.getProduct(), ProductDTO.class);
+            productDTO.setQuantity(item.getQuantity());
+            products.add(productDTO);
+        }
+        cartDTO.setProducts(products);
+        return cartDTO;
+    }
+
+    @Benchmark
+    public OrderDTO order() {
+        return modelMapper.map(order, OrderDTO.class);
+    }
+}
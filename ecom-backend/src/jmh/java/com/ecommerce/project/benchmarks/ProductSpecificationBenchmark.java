@@ -0,0 +1,47 @@
+package com.ecommerce.project.benchmarks;
+
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.ProductSpecifications;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The paging and filter setup ProductServiceImpl.getAllProducts does before it reaches the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSpecificationBenchmark {
+
+    @Param({"", "phone"})
+    private String keyword;
+
+    @Param({"false", "true"})
+    private boolean category;
+
+    @Benchmark
+    public void buildQuery(Blackhole blackhole) {
+        Sort sortByAndOrder = Sort.by("productId").ascending();
+        Pageable pageDetails = PageRequest.of(0, 50, sortByAndOrder);
+
+        Specification<Product> spec = ProductSpecifications.isActive();
+        if (keyword != null && !keyword.isEmpty()) {
+            spec = spec.and(ProductSpecifications.nameContains(keyword));
+        }
+        if (category) {
+            spec = spec.and(ProductSpecifications.inCategory(7L));
+        }
+
+        blackhole.consume(pageDetails);
+        blackhole.consume(spec);
+    }
+}
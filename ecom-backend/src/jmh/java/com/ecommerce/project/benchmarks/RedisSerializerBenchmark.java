@@ -0,0 +1,60 @@
+package com.ecommerce.project.benchmarks;
+
+import com.ecommerce.project.config.ProductCacheSerializer;
+import com.ecommerce.project.payload.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a products_v2 cache write and read: the JSON serializer used before, and the binary
+ * ProductCacheSerializer configured in CachingConfig, without and with compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"json", "binary", "binary-lz4"})
+    private String format;
+
+    private RedisSerializer<Object> serializer;
+
+    private ProductResponse response;
+
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (format) {
+            case "binary" -> new ProductCacheSerializer(new GenericJackson2JsonRedisSerializer(), -1);
+            case "binary-lz4" -> new ProductCacheSerializer(new GenericJackson2JsonRedisSerializer(), 0);
+            default -> new GenericJackson2JsonRedisSerializer();
+        };
+        response = BenchmarkData.productResponse(pageSize);
+        serialized = serializer.serialize(response);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(response);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return serializer.deserialize(serializer.serialize(response));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.project.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the generative AI provider behind {@code ai.generation.endpoint}. It answers every
+ * {@code generateContent} call with a fixed candidate after {@code loadtest.ai-stub-latency-ms}, so the
+ * summarize scenario measures how the application's blocking WebClient call holds request threads, not the
+ * provider. Each call is served on its own thread, so the stub itself never queues requests.
+ */
+class AiGenerationStub implements AutoCloseable {
+
+    private static final byte[] RESPONSE = ("{\"candidates\":[{\"content\":{\"parts\":"
+            + "[{\"text\":\"A load test product. Summarized by the local stub.\"}]}}]}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    AiGenerationStub(long latencyMs) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ai-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1beta";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microsecond resolution) and error counts for the measured window.
+ */
+class LatencyReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    void reset() {
+        endpoints.values().forEach(stats -> {
+            stats.latency.reset();
+            stats.errors.reset();
+        });
+    }
+
+    List<Map<String, Object>> summarize(double seconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            Histogram latency = stats.latency.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", latency.getTotalCount());
+            row.put("errors", stats.errors.sum());
+            row.put("throughputPerSecond", round(latency.getTotalCount() / seconds));
+            row.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+            row.put("p95Ms", millis(latency.getValueAtPercentile(95)));
+            row.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+            row.put("maxMs", millis(latency.getMaxValue()));
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    static void print(List<Map<String, Object>> rows) {
+        System.out.printf("%-52s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map<String, Object> row : rows) {
+            System.out.printf("%-52s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("throughputPerSecond"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"));
+        }
+    }
+
+    static void write(String path, Map<String, Object> report) throws IOException {
+        File file = new File(path);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static class Endpoint {
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP client for one signed-in identity; the JWT and refresh cookies live in its own cookie jar.
+ * Every call is recorded under its endpoint template, so per-endpoint percentiles are not split by ids.
+ */
+class LoadTestClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+
+    private final String baseUrl;
+
+    private final LatencyReport report;
+
+    LoadTestClient(String baseUrl, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    void signIn(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST /api/auth/signin", "POST", "/api/auth/signin",
+                Map.of("username", username, "password", password));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in of " + username + " failed with " + response.statusCode()
+                    + ": " + response.body());
+        }
+    }
+
+    HttpResponse<String> get(String endpoint, String path) throws IOException, InterruptedException {
+        return send(endpoint, "GET", path, null);
+    }
+
+    HttpResponse<String> post(String endpoint, String path, Object body) throws IOException, InterruptedException {
+        return send(endpoint, "POST", path, body);
+    }
+
+    private HttpResponse<String> send(String endpoint, String method, String path, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)));
+        }
+
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() < 400;
+            return response;
+        } finally {
+            report.record(endpoint, System.nanoTime() - started, success);
+        }
+    }
+}
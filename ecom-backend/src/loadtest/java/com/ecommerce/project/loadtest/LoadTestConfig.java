@@ -0,0 +1,50 @@
+package com.ecommerce.project.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code -Dloadtest.*} system properties.
+ */
+record LoadTestConfig(int categories, int products, int users, int sellerEvery, int ordersPerUser,
+                      int itemsPerOrder, int cartItemsPerUser, int virtualUsers, int warmupSeconds,
+                      int durationSeconds, boolean virtualThreads, Map<Scenario, Integer> mix, int aiStubLatencyMs,
+                      String report) {
+
+    static LoadTestConfig fromSystemProperties() {
+        boolean virtualThreads = Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "false"));
+        return new LoadTestConfig(
+                intProperty("categories", 50),
+                intProperty("products", 20_000),
+                intProperty("users", 5_000),
+                intProperty("seller-every", 100),
+                intProperty("orders-per-user", 4),
+                intProperty("items-per-order", 2),
+                intProperty("cart-items-per-user", 2),
+                // Above the 200 Tomcat workers, so platform threads actually saturate and the modes can differ
+                intProperty("virtual-users", 400),
+                intProperty("warmup-seconds", 15),
+                intProperty("duration-seconds", 60),
+                virtualThreads,
+                mix(System.getProperty("loadtest.mix",
+                        "browse:35,search:20,add-to-cart:15,checkout:10,admin-orders:10,seller-orders:5,ai-summarize:5")),
+                intProperty("ai-stub-latency-ms", 300),
+                // One report per mode, so the two runs can be compared side by side
+                System.getProperty("loadtest.report",
+                        "target/loadtest-report-" + (virtualThreads ? "virtual" : "platform") + "-threads.json"));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty("loadtest." + name, String.valueOf(defaultValue)));
+    }
+
+    // "browse:40,search:20" -> relative weights per scenario
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Scenario.fromName(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,341 @@
+package com.ecommerce.project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds a migrated database with catalog, users, carts and order history through batched JDBC inserts.
+ * Ids are assigned here, above whatever the application already created, and the identity sequences are
+ * moved past them afterwards so the application keeps inserting normally.
+ */
+class LoadTestDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    static final String USERNAME_PREFIX = "ltuser";
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    private final LoadTestConfig config;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadTestDataGenerator(DataSource dataSource, LoadTestConfig config) {
+        this.dataSource = dataSource;
+        this.config = config;
+    }
+
+    SeedData generate() throws SQLException {
+        long started = System.nanoTime();
+        // One hash for everyone: hashing per user would dominate seeding time
+        String passwordHash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            long firstCategoryId = nextId(connection, "categories", "category_id");
+            long firstUserId = nextId(connection, "users", "user_id");
+            long firstProductId = nextId(connection, "products", "product_id");
+            long firstAddressId = nextId(connection, "addresses", "address_id");
+            long firstCartId = nextId(connection, "carts", "cart_id");
+            long firstCartItemId = nextId(connection, "cart_items", "cart_item_id");
+            long firstPaymentId = nextId(connection, "payments", "payment_id");
+            long firstOrderId = nextId(connection, "orders", "id");
+            long firstOrderItemId = nextId(connection, "order_items", "order_item_id");
+            int userRoleId = roleId(connection, "ROLE_USER");
+            int sellerRoleId = roleId(connection, "ROLE_SELLER");
+
+            int categories = config.categories();
+            int users = config.users();
+            int products = config.products();
+            int sellers = (users + config.sellerEvery() - 1) / config.sellerEvery();
+
+            batch(connection, "INSERT INTO categories (category_id, category_name) VALUES (?, ?)", categories,
+                    (statement, i) -> {
+                        statement.setLong(1, firstCategoryId + i);
+                        statement.setString(2, "Load Category " + i);
+                    });
+
+            batch(connection, "INSERT INTO users (user_id, username, email, password) VALUES (?, ?, ?, ?)", users,
+                    (statement, i) -> {
+                        statement.setLong(1, firstUserId + i);
+                        statement.setString(2, USERNAME_PREFIX + i);
+                        statement.setString(3, USERNAME_PREFIX + i + "@loadtest.local");
+                        statement.setString(4, passwordHash);
+                    });
+
+            batch(connection, "INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", users + sellers,
+                    (statement, i) -> {
+                        if (i < users) {
+                            statement.setLong(1, firstUserId + i);
+                            statement.setInt(2, userRoleId);
+                        } else {
+                            statement.setLong(1, firstUserId + (long) (i - users) * config.sellerEvery());
+                            statement.setInt(2, sellerRoleId);
+                        }
+                    });
+
+            batch(connection, "INSERT INTO products (product_id, product_name, image, description, quantity, price, "
+                            + "discount, special_price, category_id, seller_id, is_active) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products,
+                    (statement, i) -> {
+                        double price = price(i);
+                        double discount = i % 50;
+                        statement.setLong(1, firstProductId + i);
+                        statement.setString(2, "Load Product " + i);
+                        statement.setString(3, "default.png");
+                        statement.setString(4, "Generated product " + i + " for load testing");
+                        statement.setInt(5, 1_000_000);
+                        statement.setDouble(6, price);
+                        statement.setDouble(7, discount);
+                        statement.setDouble(8, specialPrice(i));
+                        statement.setLong(9, firstCategoryId + i % categories);
+                        statement.setLong(10, firstUserId + (long) (i % sellers) * config.sellerEvery());
+                        statement.setBoolean(11, i % 10 != 0);
+                    });
+
+            batch(connection, "INSERT INTO addresses (address_id, street, building_name, city, state, country, pincode, "
+                            + "user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users,
+                    (statement, i) -> {
+                        statement.setLong(1, firstAddressId + i);
+                        statement.setString(2, "Street " + i);
+                        statement.setString(3, "Building " + i);
+                        statement.setString(4, "Bengaluru");
+                        statement.setString(5, "Karnataka");
+                        statement.setString(6, "India");
+                        statement.setString(7, "560001");
+                        statement.setLong(8, firstUserId + i);
+                    });
+
+            int cartItems = config.cartItemsPerUser();
+            batch(connection, "INSERT INTO carts (cart_id, user_id, total_price) VALUES (?, ?, ?)", users,
+                    (statement, i) -> {
+                        double total = 0;
+                        for (int item = 0; item < cartItems; item++) {
+                            total += specialPrice(cartProduct(i, item));
+                        }
+                        statement.setLong(1, firstCartId + i);
+                        statement.setLong(2, firstUserId + i);
+                        statement.setDouble(3, total);
+                    });
+
+            batch(connection, "INSERT INTO cart_items (cart_item_id, cart_id, product_id, quantity, discount, "
+                            + "product_price) VALUES (?, ?, ?, ?, ?, ?)", users * cartItems,
+                    (statement, i) -> {
+                        int user = i / cartItems;
+                        int product = cartProduct(user, i % cartItems);
+                        statement.setLong(1, firstCartItemId + i);
+                        statement.setLong(2, firstCartId + user);
+                        statement.setLong(3, firstProductId + product);
+                        statement.setInt(4, 1);
+                        statement.setDouble(5, product % 50);
+                        statement.setDouble(6, specialPrice(product));
+                    });
+
+            int orders = users * config.ordersPerUser();
+            int itemsPerOrder = config.itemsPerOrder();
+            batch(connection, "INSERT INTO payments (payment_id, payment_method, pg_payment_id, pg_status, "
+                            + "pg_response_message, pg_name) VALUES (?, ?, ?, ?, ?, ?)", orders,
+                    (statement, i) -> {
+                        statement.setLong(1, firstPaymentId + i);
+                        statement.setString(2, "card");
+                        statement.setString(3, "pi_loadtest_" + i);
+                        statement.setString(4, "succeeded");
+                        statement.setString(5, "Payment successful");
+                        statement.setString(6, "Fake");
+                    });
+
+            LocalDate today = LocalDate.now();
+            batch(connection, "INSERT INTO orders (id, email, order_date, payment_id, total_amount, order_status, "
+                            + "address_id) VALUES (?, ?, ?, ?, ?, ?, ?)", orders,
+                    (statement, i) -> {
+                        int user = i / config.ordersPerUser();
+                        statement.setLong(1, firstOrderId + i);
+                        statement.setString(2, USERNAME_PREFIX + user + "@loadtest.local");
+                        statement.setDate(3, Date.valueOf(today.minusDays(i % 365)));
+                        statement.setLong(4, firstPaymentId + i);
+                        statement.setDouble(5, orderTotal(i, itemsPerOrder));
+                        statement.setString(6, "Accepted");
+                        statement.setLong(7, firstAddressId + user);
+                    });
+
+            batch(connection, "INSERT INTO order_items (order_item_id, product_id, order_id, quantity, discount, "
+                            + "ordered_product_price) VALUES (?, ?, ?, ?, ?, ?)", orders * itemsPerOrder,
+                    (statement, i) -> {
+                        int product = orderProduct(i / itemsPerOrder, i % itemsPerOrder);
+                        statement.setLong(1, firstOrderItemId + i);
+                        statement.setLong(2, firstProductId + product);
+                        statement.setLong(3, firstOrderId + i / itemsPerOrder);
+                        statement.setInt(4, 1);
+                        statement.setDouble(5, product % 50);
+                        statement.setDouble(6, specialPrice(product));
+                    });
+
+            Timestamp now = Timestamp.from(Instant.now());
+            batch(connection, "INSERT INTO order_summaries (order_id, email, order_date, total_amount, order_status, "
+                            + "document, updated_at) VALUES (?, ?, ?, ?, ?, ?::jsonb, ?)", orders,
+                    (statement, i) -> {
+                        int user = i / config.ordersPerUser();
+                        long orderId = firstOrderId + i;
+                        String email = USERNAME_PREFIX + user + "@loadtest.local";
+                        LocalDate orderDate = today.minusDays(i % 365);
+                        statement.setLong(1, orderId);
+                        statement.setString(2, email);
+                        statement.setDate(3, Date.valueOf(orderDate));
+                        statement.setDouble(4, orderTotal(i, itemsPerOrder));
+                        statement.setString(5, "Accepted");
+                        statement.setString(6, orderDocument(i, orderId, email, orderDate, firstPaymentId + i,
+                                firstAddressId + user, firstOrderItemId, firstProductId));
+                        statement.setTimestamp(7, now);
+                    });
+
+            for (String[] table : new String[][]{{"categories", "category_id"}, {"users", "user_id"},
+                    {"products", "product_id"}, {"addresses", "address_id"}, {"carts", "cart_id"},
+                    {"cart_items", "cart_item_id"}, {"payments", "payment_id"}, {"orders", "id"},
+                    {"order_items", "order_item_id"}}) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table[0] + "', '" + table[1]
+                            + "'), (SELECT MAX(" + table[1] + ") FROM " + table[0] + "))");
+                }
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM ANALYZE");
+            }
+
+            logger.info("Seeded {} categories, {} products, {} users, {} orders in {} ms", categories, products, users,
+                    orders, (System.nanoTime() - started) / 1_000_000);
+            return new SeedData(firstUserId, users, firstProductId, products, firstAddressId, config.sellerEvery());
+        }
+    }
+
+    private String orderDocument(int order, long orderId, String email, LocalDate orderDate, long paymentId,
+                                 long addressId, long firstOrderItemId, long firstProductId) throws SQLException {
+        int itemsPerOrder = config.itemsPerOrder();
+        List<Map<String, Object>> items = new ArrayList<>(itemsPerOrder);
+        for (int item = 0; item < itemsPerOrder; item++) {
+            int product = orderProduct(order, item);
+            Map<String, Object> productDocument = new LinkedHashMap<>();
+            productDocument.put("productId", firstProductId + product);
+            productDocument.put("productName", "Load Product " + product);
+            productDocument.put("image", "default.png");
+            productDocument.put("price", price(product));
+            productDocument.put("discount", (double) (product % 50));
+            productDocument.put("specialPrice", specialPrice(product));
+            Map<String, Object> itemDocument = new LinkedHashMap<>();
+            itemDocument.put("oderItemId", firstOrderItemId + (long) order * itemsPerOrder + item);
+            itemDocument.put("product", productDocument);
+            itemDocument.put("quantity", 1);
+            itemDocument.put("discount", (double) (product % 50));
+            itemDocument.put("orderedProductPrice", specialPrice(product));
+            items.add(itemDocument);
+        }
+        Map<String, Object> payment = new LinkedHashMap<>();
+        payment.put("paymentId", paymentId);
+        payment.put("paymentMethod", "card");
+        payment.put("pgPaymentId", "pi_loadtest_" + order);
+        payment.put("pgStatus", "succeeded");
+        payment.put("pgResponseMessage", "Payment successful");
+        payment.put("pgName", "Fake");
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("orderId", orderId);
+        document.put("email", email);
+        document.put("orderItems", items);
+        document.put("orderDate", orderDate.toString());
+        document.put("payment", payment);
+        document.put("totalAmount", orderTotal(order, itemsPerOrder));
+        document.put("orderStatus", "Accepted");
+        document.put("addressId", addressId);
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (Exception e) {
+            throw new SQLException("Could not render order document", e);
+        }
+    }
+
+    private double price(int product) {
+        return product % 1000 + 0.99;
+    }
+
+    private double specialPrice(int product) {
+        return price(product) * (1 - (product % 50) / 100.0);
+    }
+
+    private int cartProduct(int user, int item) {
+        return (int) (((long) user * 7919 + (long) item * 104729) % config.products());
+    }
+
+    private int orderProduct(int order, int item) {
+        return (int) (((long) order * 31 + (long) item * 7907) % config.products());
+    }
+
+    private double orderTotal(int order, int itemsPerOrder) {
+        double total = 0;
+        for (int item = 0; item < itemsPerOrder; item++) {
+            total += specialPrice(orderProduct(order, item));
+        }
+        return total;
+    }
+
+    private long nextId(Connection connection, String table, String idColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private int roleId(Connection connection, String roleName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT role_id FROM roles WHERE role_name = ?")) {
+            statement.setString(1, roleName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Role " + roleName + " has not been created by the application");
+                }
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private void batch(Connection connection, String sql, int rows, RowBinder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                binder.bind(statement, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int row) throws SQLException;
+    }
+}
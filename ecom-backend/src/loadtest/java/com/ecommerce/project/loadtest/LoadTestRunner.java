@@ -0,0 +1,152 @@
+package com.ecommerce.project.loadtest;
+
+import com.ecommerce.project.SbComApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application against an embedded Postgres and Redis with the fake payment gateway, seeds it,
+ * drives it with {@code loadtest.virtual-users} concurrent shoppers and reports per-endpoint throughput and
+ * latency percentiles. The AI summarize scenario calls a local stub provider, so its row shows how the blocking
+ * provider call scales in each mode. Run it once with {@code -Dloadtest.virtual-threads=true} and once without to compare
+ * the two request-handling modes on identical data.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final String ADMIN_USERNAME = "admin";
+
+    private static final String ADMIN_PASSWORD = "password3";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             AiGenerationStub aiStub = new AiGenerationStub(config.aiStubLatencyMs())) {
+            // Passed as command-line arguments so they take precedence over application.properties
+            String[] appArgs = applicationProperties(config, postgres, redisPort, aiStub).entrySet().stream()
+                    .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                    .toArray(String[]::new);
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(SbComApplication.class).run(appArgs);
+            try {
+                run(config, app);
+            } finally {
+                app.close();
+            }
+        } finally {
+            redis.stop();
+        }
+    }
+
+    private static void run(LoadTestConfig config, ConfigurableApplicationContext app) throws Exception {
+        SeedData seedData = new LoadTestDataGenerator(app.getBean(DataSource.class), config).generate();
+        String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+
+        LatencyReport report = new LatencyReport();
+        LoadTestClient adminClient = new LoadTestClient(baseUrl, report);
+        adminClient.signIn(ADMIN_USERNAME, ADMIN_PASSWORD);
+        LoadTestClient sellerClient = new LoadTestClient(baseUrl, report);
+        sellerClient.signIn(seedData.sellerUsername(), LoadTestDataGenerator.PASSWORD);
+
+        int virtualUsers = Math.min(config.virtualUsers(), seedData.users() - 1);
+        List<VirtualUser> shoppers = new ArrayList<>(virtualUsers);
+        for (int i = 1; i <= virtualUsers; i++) {
+            LoadTestClient client = new LoadTestClient(baseUrl, report);
+            client.signIn(seedData.username(i), LoadTestDataGenerator.PASSWORD);
+            shoppers.add(new VirtualUser(i, client, adminClient, sellerClient, seedData, config.mix(),
+                    () -> !Thread.currentThread().isInterrupted()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        shoppers.forEach(executor::submit);
+
+        logger.info("Warming up for {} s with {} virtual users", config.warmupSeconds(), virtualUsers);
+        TimeUnit.SECONDS.sleep(config.warmupSeconds());
+        report.reset();
+        long started = System.nanoTime();
+        logger.info("Measuring for {} s", config.durationSeconds());
+        TimeUnit.SECONDS.sleep(config.durationSeconds());
+        double seconds = (System.nanoTime() - started) / 1e9;
+        List<Map<String, Object>> rows = report.summarize(seconds);
+
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("virtualThreads", config.virtualThreads());
+        settings.put("virtualUsers", virtualUsers);
+        settings.put("products", config.products());
+        settings.put("users", config.users());
+        settings.put("ordersPerUser", config.ordersPerUser());
+        settings.put("mix", config.mix().toString());
+        settings.put("aiStubLatencyMs", config.aiStubLatencyMs());
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("settings", settings);
+        output.put("measuredSeconds", Math.round(seconds));
+        output.put("endpoints", rows);
+
+        LatencyReport.print(rows);
+        LatencyReport.write(config.report(), output);
+        logger.info("Report written to {}", config.report());
+    }
+
+    private static Map<String, Object> applicationProperties(LoadTestConfig config, EmbeddedPostgres postgres,
+                                                             int redisPort, AiGenerationStub aiStub) {
+        byte[] jwtSecret = new byte[64];
+        new SecureRandom().nextBytes(jwtSecret);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "postgres");
+        properties.put("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "true");
+        properties.put("spring.data.redis.host", "localhost");
+        properties.put("spring.data.redis.port", redisPort);
+        properties.put("spring.data.redis.password", "");
+        properties.put("spring.app.jwtSecret", Base64.getEncoder().encodeToString(jwtSecret));
+        properties.put("spring.app.jwtExpirationMs", TimeUnit.HOURS.toMillis(2));
+        properties.put("spring.app.jwtCookieName", "jwtToken");
+        properties.put("spring.threads.virtual.enabled", config.virtualThreads());
+        properties.put("stripe.secret.key", "sk_test_loadtest");
+        properties.put("ai.api.key", "loadtest");
+        properties.put("ai.generation.endpoint", aiStub.endpoint());
+        properties.put("payment.gateway", "fake");
+        // Every shopper comes from localhost; per-ip buckets would throttle the whole run
+        properties.put("rate-limit.enabled", false);
+        // Measures what the threading mode can serve, not how much of the overload is turned away
+        properties.put("load-shedding.enabled", false);
+        properties.put("logging.level.com.ecommerce", "INFO");
+        return properties;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.project.loadtest;
+
+import java.util.Arrays;
+
+enum Scenario {
+    BROWSE("browse"),
+    SEARCH("search"),
+    ADD_TO_CART("add-to-cart"),
+    CHECKOUT("checkout"),
+    ADMIN_ORDERS("admin-orders"),
+    SELLER_ORDERS("seller-orders"),
+    AI_SUMMARIZE("ai-summarize");
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    static Scenario fromName(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + name));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.project.loadtest;
+
+/**
+ * Id ranges written by {@link LoadTestDataGenerator}. User {@code i} (0-based) owns address
+ * {@code firstAddressId + i}; every user's password is {@link LoadTestDataGenerator#PASSWORD}.
+ */
+record SeedData(long firstUserId, int users, long firstProductId, int products, long firstAddressId,
+                int sellerEvery) {
+
+    String username(int userIndex) {
+        return LoadTestDataGenerator.USERNAME_PREFIX + userIndex;
+    }
+
+    long addressId(int userIndex) {
+        return firstAddressId + userIndex;
+    }
+
+    String sellerUsername() {
+        return username(0);
+    }
+
+    boolean isSeller(int userIndex) {
+        return userIndex % sellerEvery == 0;
+    }
+}
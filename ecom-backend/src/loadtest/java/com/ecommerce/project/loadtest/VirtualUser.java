@@ -0,0 +1,141 @@
+package com.ecommerce.project.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One simulated shopper running a weighted mix of scenarios back to back. Admin and seller listings go
+ * through shared clients signed in as those roles.
+ */
+class VirtualUser implements Runnable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int userIndex;
+
+    private final LoadTestClient client;
+
+    private final LoadTestClient adminClient;
+
+    private final LoadTestClient sellerClient;
+
+    private final SeedData seedData;
+
+    private final Scenario[] scenarios;
+
+    private final int[] cumulativeWeights;
+
+    private final BooleanSupplier running;
+
+    VirtualUser(int userIndex, LoadTestClient client, LoadTestClient adminClient, LoadTestClient sellerClient,
+                SeedData seedData, Map<Scenario, Integer> mix, BooleanSupplier running) {
+        this.userIndex = userIndex;
+        this.client = client;
+        this.adminClient = adminClient;
+        this.sellerClient = sellerClient;
+        this.seedData = seedData;
+        this.running = running;
+        this.scenarios = mix.keySet().toArray(new Scenario[0]);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += mix.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean()) {
+            try {
+                execute(nextScenario());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Transport failures are already recorded as errors against the endpoint
+            }
+        }
+    }
+
+    private Scenario nextScenario() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private void execute(Scenario scenario) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case BROWSE -> client.get("GET /api/public/products",
+                    "/api/public/products?pageNumber=" + random.nextInt(50) + "&pageSize=12");
+            case SEARCH -> client.get("GET /api/public/products?keyword",
+                    "/api/public/products?keyword=Product%20" + random.nextInt(1, 1000) + "&pageSize=12");
+            case ADD_TO_CART -> addToCart();
+            case CHECKOUT -> checkout();
+            case ADMIN_ORDERS -> adminClient.get("GET /api/admin/orders",
+                    "/api/admin/orders?pageNumber=" + random.nextInt(10));
+            case SELLER_ORDERS -> sellerClient.get("GET /api/seller/orders", "/api/seller/orders?pageNumber=0");
+            case AI_SUMMARIZE -> client.post("POST /api/ai/summarize", "/api/ai/summarize",
+                    Map.of("name", "Product " + random.nextInt(1, 1000), "description", "Load test product"));
+        }
+    }
+
+    private void addToCart() throws Exception {
+        long productId = seedData.firstProductId() + ThreadLocalRandom.current().nextInt(seedData.products());
+        client.post("POST /api/carts/products/{productId}/quantity/{quantity}",
+                "/api/carts/products/" + productId + "/quantity/1", null);
+    }
+
+    // Client secret for the cart's total from the (fake) gateway, then the order itself; the gateway confirms it
+    // asynchronously and rejects a payment that does not match the order total
+    private void checkout() throws Exception {
+        addToCart();
+        HttpResponse<String> cart = client.get("GET /api/carts/users/cart", "/api/carts/users/cart");
+        if (cart.statusCode() >= 400) {
+            return;
+        }
+        JsonNode totalPrice = OBJECT_MAPPER.readTree(cart.body()).path("totalPrice");
+
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", "Street " + userIndex);
+        address.put("buildingName", "Building " + userIndex);
+        address.put("city", "Bengaluru");
+        address.put("state", "Karnataka");
+        address.put("country", "IN");
+        address.put("pincode", "560001");
+        Map<String, Object> paymentRequest = new LinkedHashMap<>();
+        paymentRequest.put("amount", Math.round(totalPrice.asDouble() * 100));
+        paymentRequest.put("currency", "usd");
+        paymentRequest.put("email", seedData.username(userIndex) + "@loadtest.local");
+        paymentRequest.put("name", seedData.username(userIndex));
+        paymentRequest.put("address", address);
+        paymentRequest.put("description", "Load test order");
+        HttpResponse<String> secret = client.post("POST /api/order/stripe-client-secret",
+                "/api/order/stripe-client-secret", paymentRequest);
+        if (secret.statusCode() >= 400) {
+            return;
+        }
+        String clientSecret = secret.body();
+        String pgPaymentId = clientSecret.substring(0, clientSecret.indexOf("_secret"));
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("addressId", seedData.addressId(userIndex));
+        order.put("paymentMethod", "card");
+        order.put("pgName", "Fake");
+        order.put("pgPaymentId", pgPaymentId);
+        order.put("pgStatus", "pending");
+        order.put("pgResponseMessage", "Awaiting payment confirmation");
+        client.post("POST /api/order/users/payments/{paymentMethod}", "/api/order/users/payments/card", order);
+    }
+}
@@ -8,4 +8,6 @@ public class AppConstants {
     public static final String SORT_PRODUCTS_BY = "productId";
     public static final String SORT_ORDERS_BY = "totalAmount";
     public static final String SORT_USERS_BY = "userId";
+    public static final String SORT_ADDRESSES_BY = "addressId";
+    public static final int MAX_BULK_ORDER_IDS = 5000;
 }
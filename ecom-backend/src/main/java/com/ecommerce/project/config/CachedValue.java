@@ -0,0 +1,8 @@
+package com.ecommerce.project.config;
+
+/**
+ * A cached value stamped with when it was written and how long it took to compute, so
+ * {@link StampedeProtectedCache} can refresh it early or serve it stale.
+ */
+record CachedValue(Object value, long writtenAt, long computeMillis) {
+}
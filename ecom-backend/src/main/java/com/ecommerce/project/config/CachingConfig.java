@@ -1,23 +1,53 @@
 package com.ecommerce.project.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CachingConfig {
 
+    // Cached product pages above this size are LZ4 compressed; -1 disables compression
+    @Value("${cache.products.compression-threshold-bytes:1024}")
+    private int productCompressionThreshold;
+
+    @Value("${cache.products.fresh-seconds:60}")
+    private long productFreshSeconds;
+
+    // How long a page may be served stale while it is refreshed in the background
+    @Value("${cache.products.stale-seconds:60}")
+    private long productStaleSeconds;
+
+    @Value("${cache.products.lease-millis:5000}")
+    private long productLeaseMillis;
+
+    @Value("${cache.products.early-refresh-beta:1.0}")
+    private double productEarlyRefreshBeta;
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                          StringRedisTemplate stringRedisTemplate,
+                                          MeterRegistry meterRegistry) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 // Store keys as Strings (readable)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
@@ -28,8 +58,53 @@ public class CachingConfig {
                 .enableTimeToIdle()
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .build();
+        // Product pages are the hottest entries: compact binary instead of JSON with type metadata.
+        // No time to idle, so reads cannot keep a page alive; freshness is tracked by StampedeProtectedCache
+        // and Redis keeps the entry through the stale window.
+        RedisCacheConfiguration productsConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new ProductCacheSerializer(new GenericJackson2JsonRedisSerializer(), productCompressionThreshold)))
+                .entryTtl(Duration.ofSeconds(productFreshSeconds + productStaleSeconds))
+                .disableCachingNullValues();
+
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory)
+                .withStatisticsCollector(CacheStatisticsCollector.create());
+
+        ThreadPoolTaskExecutor refreshExecutor = productCacheRefreshExecutor();
+
+        // Caches must exist at startup to get cache.gets/puts/evictions meters bound by the actuator
+        return new RedisCacheManager(cacheWriter, config, Map.of("products_v2", productsConfig)) {
+            @Override
+            protected Cache decorateCache(Cache cache) {
+                Cache decorated = super.decorateCache(cache);
+                if (!"products_v2".equals(decorated.getName())) {
+                    return decorated;
+                }
+                return new StampedeProtectedCache(decorated, stringRedisTemplate, refreshExecutor,
+                        Duration.ofSeconds(productFreshSeconds), Duration.ofMillis(productLeaseMillis),
+                        productEarlyRefreshBeta, meterRegistry);
+            }
+        };
+    }
+
+    // Not a bean: an Executor bean would replace the auto-configured applicationTaskExecutor
+    private ThreadPoolTaskExecutor productCacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // The actuator only binds meters for RedisCache instances, so bind the cache behind the decorator
+    @Bean
+    public CacheMeterBinderProvider<StampedeProtectedCache> stampedeProtectedCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getDelegate() instanceof RedisCache redisCache
+                ? new RedisCacheMetrics(redisCache, tags)
+                : null;
     }
 }
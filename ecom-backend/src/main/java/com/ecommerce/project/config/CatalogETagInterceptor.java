@@ -0,0 +1,47 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.service.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Conditional GETs for the public catalog. Responses carry a weak ETag derived from {@link CatalogVersion}
+ * and a public Cache-Control, and a matching {@code If-None-Match} is answered with 304 before the
+ * controller runs. The ETag only changes when the catalog does, so it is valid for every catalog URL.
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    // Shared caches may reuse a response this long without revalidating
+    @Value("${catalog.http-cache.max-age-seconds:10}")
+    private long maxAgeSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String version = catalogVersion.current();
+        if (version == null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate().getHeaderValue());
+        // Sets the ETag and, on a match, the 304 status
+        return !new ServletWebRequest(request, response).checkNotModified("W/\"catalog-" + version + "\"");
+    }
+}
@@ -0,0 +1,370 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary format for cached {@link ProductResponse} pages and {@link ProductDTO}s; any other value is
+ * handed to the delegate serializer. Each value starts with a four byte header (magic, format version, type,
+ * flags). Bodies larger than the threshold are LZ4 compressed. A {@link CachedValue} is written as its value with
+ * the write time and compute time in front of the body.
+ *
+ * Entries written by another format version, or by the JSON serializer used before, read as cache misses,
+ * so old and new instances can share Redis during a rolling deploy. Bump {@link #VERSION} on any layout change.
+ */
+public class ProductCacheSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xB7;
+
+    static final byte VERSION = 2;
+
+    private static final byte TYPE_DELEGATE = 0;
+    private static final byte TYPE_PRODUCT_RESPONSE = 1;
+    private static final byte TYPE_PRODUCT = 2;
+
+    private static final byte FLAG_LZ4 = 1;
+    private static final byte FLAG_STAMPED = 2;
+
+    private static final int HEADER_LENGTH = 4;
+
+    // LZ4 cannot expand input by more than this, so a larger stated body length is corrupt
+    private static final int MAX_LZ4_RATIO = 255;
+
+    // A 10 product page without compression fits without growing
+    private static final int INITIAL_CAPACITY = 2048;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final RedisSerializer<Object> delegate;
+
+    private final int compressionThreshold;
+
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    /**
+     * @param compressionThreshold body size in bytes from which values are compressed; negative disables compression
+     */
+    public ProductCacheSerializer(RedisSerializer<Object> delegate, int compressionThreshold) {
+        this.delegate = delegate;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+
+        Writer writer = new Writer(INITIAL_CAPACITY);
+        writer.skip(HEADER_LENGTH);
+        byte flags = 0;
+        if (value instanceof CachedValue cachedValue) {
+            flags |= FLAG_STAMPED;
+            writer.writeVarLong(cachedValue.writtenAt());
+            writer.writeVarLong(cachedValue.computeMillis());
+            value = cachedValue.value();
+        }
+        byte type;
+        if (value instanceof ProductResponse response) {
+            type = TYPE_PRODUCT_RESPONSE;
+            writeProductResponse(writer, response);
+        } else if (value instanceof ProductDTO product) {
+            type = TYPE_PRODUCT;
+            writeProduct(writer, product);
+        } else {
+            type = TYPE_DELEGATE;
+            writer.writeBytes(delegate.serialize(value));
+        }
+
+        int bodyLength = writer.position - HEADER_LENGTH;
+        if (compressionThreshold >= 0 && bodyLength >= compressionThreshold) {
+            return compress(writer.buffer, bodyLength, type, flags);
+        }
+        byte[] bytes = writer.toByteArray();
+        writeHeader(bytes, type, flags);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != MAGIC || bytes[1] != VERSION) {
+            return null;
+        }
+        byte type = bytes[2];
+        try {
+            Reader reader;
+            if ((bytes[3] & FLAG_LZ4) != 0) {
+                Reader lengthReader = new Reader(bytes, HEADER_LENGTH);
+                int bodyLength = lengthReader.readVarInt();
+                if (bodyLength < 0 || (long) bodyLength > (long) MAX_LZ4_RATIO * lengthReader.remaining()) {
+                    throw new SerializationException("Corrupt cache value: body length " + bodyLength);
+                }
+                byte[] body = new byte[bodyLength];
+                decompressor.decompress(bytes, lengthReader.position, body, 0, bodyLength);
+                reader = new Reader(body, 0);
+            } else {
+                reader = new Reader(bytes, HEADER_LENGTH);
+            }
+
+            long writtenAt = 0;
+            long computeMillis = 0;
+            boolean stamped = (bytes[3] & FLAG_STAMPED) != 0;
+            if (stamped) {
+                writtenAt = reader.readVarLong();
+                computeMillis = reader.readVarLong();
+            }
+
+            Object value = switch (type) {
+                case TYPE_PRODUCT_RESPONSE -> readProductResponse(reader);
+                case TYPE_PRODUCT -> readProduct(reader);
+                case TYPE_DELEGATE -> delegate.deserialize(reader.readRemaining());
+                default -> null;
+            };
+            return stamped && value != null ? new CachedValue(value, writtenAt, computeMillis) : value;
+        } catch (SerializationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Index, negative-size and LZ4 failures from a truncated or corrupted value
+            throw new SerializationException("Corrupt cache value", e);
+        }
+    }
+
+    private byte[] compress(byte[] buffer, int bodyLength, byte type, byte flags) {
+        Writer writer = new Writer(HEADER_LENGTH + 5 + compressor.maxCompressedLength(bodyLength));
+        writer.skip(HEADER_LENGTH);
+        writer.writeVarInt(bodyLength);
+        int compressedLength = compressor.compress(buffer, HEADER_LENGTH, bodyLength,
+                writer.buffer, writer.position, writer.buffer.length - writer.position);
+        writer.position += compressedLength;
+        byte[] bytes = writer.toByteArray();
+        writeHeader(bytes, type, (byte) (flags | FLAG_LZ4));
+        return bytes;
+    }
+
+    private void writeHeader(byte[] bytes, byte type, byte flags) {
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        bytes[2] = type;
+        bytes[3] = flags;
+    }
+
+    private void writeProductResponse(Writer writer, ProductResponse response) {
+        List<ProductDTO> content = response.getContent();
+        if (content == null) {
+            writer.writeVarInt(0);
+        } else {
+            writer.writeVarInt(content.size() + 1);
+            for (ProductDTO product : content) {
+                writeProduct(writer, product);
+            }
+        }
+        writer.writeNullableInt(response.getPageNumber());
+        writer.writeNullableInt(response.getPageSize());
+        writer.writeNullableLong(response.getTotalElements());
+        writer.writeNullableInt(response.getTotalPages());
+        writer.writeByte(response.isLastPage() ? 1 : 0);
+    }
+
+    private ProductResponse readProductResponse(Reader reader) {
+        int size = reader.readVarInt() - 1;
+        List<ProductDTO> content = null;
+        if (size >= 0) {
+            // Every product takes at least a byte, so a larger count is corrupt and must not size the list
+            reader.require(size);
+            content = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                content.add(readProduct(reader));
+            }
+        }
+        return new ProductResponse(content, reader.readNullableInt(), reader.readNullableInt(),
+                reader.readNullableLong(), reader.readNullableInt(), reader.readByte() == 1);
+    }
+
+    private void writeProduct(Writer writer, ProductDTO product) {
+        writer.writeNullableLong(product.getProductId());
+        writer.writeString(product.getProductName());
+        writer.writeString(product.getImage());
+        writer.writeString(product.getDescription());
+        writer.writeNullableInt(product.getQuantity());
+        writer.writeDouble(product.getPrice());
+        writer.writeDouble(product.getDiscount());
+        writer.writeDouble(product.getSpecialPrice());
+    }
+
+    private ProductDTO readProduct(Reader reader) {
+        return new ProductDTO(reader.readNullableLong(), reader.readString(), reader.readString(), reader.readString(),
+                reader.readNullableInt(), reader.readDouble(), reader.readDouble(), reader.readDouble());
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void skip(int length) {
+            ensureCapacity(length);
+            position += length;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        // Zig-zag so small negative values stay short; 0 marks null
+        void writeNullableLong(Long value) {
+            if (value == null) {
+                writeByte(0);
+            } else {
+                writeByte(1);
+                writeVarLong((value << 1) ^ (value >> 63));
+            }
+        }
+
+        void writeNullableInt(Integer value) {
+            writeNullableLong(value == null ? null : value.longValue());
+        }
+
+        void writeDouble(double value) {
+            ensureCapacity(8);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+
+        // Length + 1, so 0 marks null
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readByte() {
+            return buffer[position++];
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        Long readNullableLong() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long zigZag = readVarLong();
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+
+        Integer readNullableInt() {
+            Long value = readNullableLong();
+            return value == null ? null : value.intValue();
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (buffer[position++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        int remaining() {
+            return buffer.length - position;
+        }
+
+        void require(int length) {
+            if (length > remaining()) {
+                throw new SerializationException("Corrupt cache value: " + length + " bytes needed, "
+                        + remaining() + " left");
+            }
+        }
+
+        byte[] readRemaining() {
+            return Arrays.copyOfRange(buffer, position, buffer.length);
+        }
+    }
+}
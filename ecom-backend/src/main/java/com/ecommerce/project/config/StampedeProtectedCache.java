@@ -0,0 +1,307 @@
+package com.ecommerce.project.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps an expiring hot key from sending every concurrent caller to the database. Used through
+ * {@code @Cacheable(sync = true)}, which routes lookups to {@link #get(Object, Callable)}:
+ * <ul>
+ *     <li>concurrent misses for a key on this instance share a single load;</li>
+ *     <li>a Redis lease elects one loader across instances, the others poll for its result;</li>
+ *     <li>entries older than the fresh window are served stale while one background refresh runs;</li>
+ *     <li>fresh entries are refreshed early with a probability that grows as expiry nears and with how
+ *     long the value took to compute, so hot keys are usually replaced before they ever go stale.</li>
+ * </ul>
+ * Values are stored as {@link CachedValue}s; the Redis TTL of the delegate must cover the fresh and stale windows.
+ * If Redis is unavailable for the lease, loads are only coalesced per instance.
+ */
+public class StampedeProtectedCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StampedeProtectedCache.class);
+
+    private static final long PEER_POLL_MILLIS = 50;
+
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final Cache delegate;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Executor refreshExecutor;
+
+    private final long freshMillis;
+
+    private final Duration lease;
+
+    private final double earlyRefreshBeta;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Counter> loadCounters = new ConcurrentHashMap<>();
+
+    /**
+     * @param earlyRefreshBeta scales early refreshes; 0 disables them, values above 1 refresh earlier
+     */
+    public StampedeProtectedCache(Cache delegate, StringRedisTemplate redisTemplate, Executor refreshExecutor,
+                                  Duration freshFor, Duration lease, double earlyRefreshBeta,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.freshMillis = freshFor.toMillis();
+        this.lease = lease;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CachedValue cached = lookup(key);
+        return cached == null ? null : new SimpleValueWrapper(cached.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        CachedValue cached = lookup(key);
+        Object value = cached == null ? null : cached.value();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CachedValue cached = lookup(key);
+        if (cached != null) {
+            long age = System.currentTimeMillis() - cached.writtenAt();
+            if (age >= freshMillis) {
+                refreshAsync(key, valueLoader, "stale");
+            } else if (shouldRefreshEarly(age, cached.computeMillis())) {
+                refreshAsync(key, valueLoader, "early");
+            }
+            return (T) cached.value();
+        }
+
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            runLoad(key, valueLoader, "miss", true, created);
+        }
+        try {
+            Object value = (existing == null ? created : existing).join();
+            if (value == null) {
+                // Joined a background refresh that deferred to another instance and the entry is gone since
+                value = loadOnce(key, valueLoader, "miss", true);
+            }
+            return (T) value;
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, stamp(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, stamp(value, 0));
+        return existing == null ? null : new SimpleValueWrapper(unstamp(existing.get()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    // XFetch: refresh when age - computeMillis * beta * ln(rand) reaches the fresh window
+    private boolean shouldRefreshEarly(long age, long computeMillis) {
+        if (earlyRefreshBeta <= 0 || computeMillis <= 0) {
+            return false;
+        }
+        double random = 1 - ThreadLocalRandom.current().nextDouble();
+        return age - computeMillis * earlyRefreshBeta * Math.log(random) >= freshMillis;
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader, String trigger) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, created) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> runLoad(key, valueLoader, trigger, false, created));
+        } catch (RejectedExecutionException e) {
+            // Refresh queue is full; a later read retries
+            inFlight.remove(key, created);
+            created.complete(null);
+        }
+    }
+
+    private void runLoad(Object key, Callable<?> valueLoader, String trigger, boolean waitForPeer,
+                         CompletableFuture<Object> result) {
+        try {
+            result.complete(loadOnce(key, valueLoader, trigger, waitForPeer));
+        } catch (Throwable e) {
+            if (!waitForPeer) {
+                logger.warn("Background refresh of {}::{} failed: {}", getName(), key, e.getMessage());
+            }
+            result.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, result);
+        }
+    }
+
+    /**
+     * Loads and stores the value while holding the cluster-wide lease. Without the lease a foreground load waits
+     * for the holder to store the value, and falls back to loading itself once the lease would have expired;
+     * a background refresh gives up and returns {@code null}.
+     */
+    private Object loadOnce(Object key, Callable<?> valueLoader, String trigger, boolean waitForPeer) throws Exception {
+        String leaseKey = "cache:lease:" + getName() + "::" + key;
+        String token = UUID.randomUUID().toString();
+        boolean leased = tryAcquireLease(leaseKey, token);
+        if (!leased) {
+            if (!waitForPeer) {
+                return null;
+            }
+            CachedValue fromPeer = awaitPeer(key);
+            if (fromPeer != null) {
+                countLoad("peer");
+                return fromPeer.value();
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            Object value = valueLoader.call();
+            long computeMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            delegate.put(key, stamp(value, computeMillis));
+            countLoad(trigger);
+            return value;
+        } finally {
+            if (leased) {
+                releaseLease(leaseKey, token);
+            }
+        }
+    }
+
+    private CachedValue awaitPeer(Object key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + lease.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(PEER_POLL_MILLIS);
+            CachedValue cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryAcquireLease(String leaseKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey, token, lease));
+        } catch (DataAccessException e) {
+            logger.warn("Redis cache lease unavailable, coalescing loads locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void releaseLease(String leaseKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE, List.of(leaseKey), token);
+        } catch (DataAccessException e) {
+            // The lease expires on its own
+            logger.debug("Could not release cache lease {}: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    private CachedValue lookup(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        // Entries put before stamping have no age; treat them as fresh until their TTL runs out
+        return value instanceof CachedValue cached ? cached : new CachedValue(value, System.currentTimeMillis(), 0);
+    }
+
+    private Object stamp(Object value, long computeMillis) {
+        return value == null ? null : new CachedValue(value, System.currentTimeMillis(), computeMillis);
+    }
+
+    private Object unstamp(Object value) {
+        return value instanceof CachedValue cached ? cached.value() : value;
+    }
+
+    private void countLoad(String trigger) {
+        loadCounters.computeIfAbsent(trigger, t -> Counter.builder("cache.loads")
+                        .description("Values loaded into a stampede protected cache, by what triggered the load")
+                        .tag("cache", getName())
+                        .tag("trigger", t)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -1,15 +1,19 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.model.Users;
+import com.ecommerce.project.payload.APIResponse;
 import com.ecommerce.project.payload.AddressDTO;
-import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.AddressResponse;
 import com.ecommerce.project.service.AddressService;
 import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.JsonArrayStreamer;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,42 +27,62 @@ public class AddressController {
     @Autowired
     private AddressService addressService;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
     @PostMapping("/addresses")
     public ResponseEntity<AddressDTO> createAddress(@Valid @RequestBody AddressDTO addressDTO){
         Users user = authUtil.loggedInUser();
-        AddressDTO savedAddressDTO = addressService.createAddress(addressDTO,user);
-        return new ResponseEntity<>(savedAddressDTO, HttpStatus.CREATED);
+        AddressService.CreatedAddress createdAddress = addressService.createAddress(addressDTO,user);
+        // An address the user already had is handed back as is, not created again
+        return new ResponseEntity<>(createdAddress.address(),
+                createdAddress.created() ? HttpStatus.CREATED : HttpStatus.OK);
     }
 
-    @GetMapping("/addresses")
-    public ResponseEntity<List<AddressDTO>> getAddresses(){
-        List<AddressDTO> addressDTOList = addressService.getAddresses();
-        return new ResponseEntity<>(addressDTOList, HttpStatus.OK);
+    @GetMapping({"/addresses", "/users/addresses"})
+    public ResponseEntity<List<AddressDTO>> getUserAddress(){
+        List<AddressDTO> address = addressService.getUserAddresses(authUtil.loggedInUserId());
+        return new ResponseEntity<>(address, HttpStatus.OK);
     }
 
     @GetMapping("/addresses/{addressId}")
     public ResponseEntity<AddressDTO> getAddressById(@PathVariable Long addressId){
-        AddressDTO address = addressService.getAddressesById(addressId);
+        AddressDTO address = addressService.getAddressesById(addressId, authUtil.loggedInUserId());
         return new ResponseEntity<>(address, HttpStatus.OK);
     }
 
-    @GetMapping("/users/addresses")
-    public ResponseEntity<List<AddressDTO>> getUserAddress(){
-        Users user = authUtil.loggedInUser();
-        List<AddressDTO> address = addressService.getUserAddresses(user);
-        return new ResponseEntity<>(address, HttpStatus.OK);
-    }
-
-    @PutMapping("/address/{addressId}")
+    @PutMapping({"/address/{addressId}", "/addresses/{addressId}"})
     public ResponseEntity<AddressDTO> updateAddress(@Valid @RequestBody AddressDTO addressDTO,@PathVariable Long addressId){
-        AddressDTO updatedAddress = addressService.updateAddress(addressId,addressDTO);
+        AddressDTO updatedAddress = addressService.updateAddress(addressId,addressDTO,authUtil.loggedInUserId());
         return new ResponseEntity<>(updatedAddress,HttpStatus.OK);
     }
 
-    @DeleteMapping("/address/{addressId}")
+    @DeleteMapping({"/address/{addressId}", "/addresses/{addressId}"})
     public ResponseEntity<String> deleteAddress(@PathVariable Long addressId) {
-        String status = addressService.deleteAddress(addressId);
+        String status = addressService.deleteAddress(addressId, authUtil.loggedInUserId());
         return new ResponseEntity<>(status, HttpStatus.OK);
 
     }
+
+    @GetMapping("/admin/addresses")
+    public ResponseEntity<AddressResponse> getAllAddresses(
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_ADDRESSES_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder
+    ){
+        AddressResponse addressResponse = addressService.getAllAddresses(pageNumber, pageSize, sortBy, sortOrder);
+        return new ResponseEntity<>(addressResponse, HttpStatus.OK);
+    }
+
+    @PostMapping("/admin/addresses/deduplicate")
+    public ResponseEntity<APIResponse> deduplicateAddresses(){
+        addressService.startDeduplication();
+        return new ResponseEntity<>(new APIResponse("Address deduplication started", true), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/admin/addresses/export")
+    public ResponseEntity<StreamingResponseBody> exportAddresses(){
+        return jsonArrayStreamer.response(addressService::streamAddresses);
+    }
 }
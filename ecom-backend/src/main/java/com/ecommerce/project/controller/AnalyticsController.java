@@ -1,7 +1,9 @@
 package com.ecommerce.project.controller;
 
 import com.ecommerce.project.payload.AnalyticsResponse;
+import com.ecommerce.project.payload.DataSourcePoolResponse;
 import com.ecommerce.project.service.AnalyticsService;
+import com.ecommerce.project.service.DataSourceMetricsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +18,18 @@ public class AnalyticsController {
     @Autowired
     private AnalyticsService analyticsService;
 
+    @Autowired
+    private DataSourceMetricsService dataSourceMetricsService;
+
     @GetMapping("/admin/app/analytics")
     public ResponseEntity<AnalyticsResponse> getAnalytics(){
         AnalyticsResponse response = analyticsService.getAnalyticsData();
         return new ResponseEntity<AnalyticsResponse>(response, HttpStatus.OK);
     }
+
+    @GetMapping("/admin/app/datasource")
+    public ResponseEntity<DataSourcePoolResponse> getDataSourcePoolMetrics(){
+        DataSourcePoolResponse response = dataSourceMetricsService.getPoolMetrics();
+        return new ResponseEntity<DataSourcePoolResponse>(response, HttpStatus.OK);
+    }
 }
@@ -14,6 +14,7 @@ import com.ecommerce.project.security.response.MessageResponse;
 import com.ecommerce.project.security.response.UserInfoResponse;
 import com.ecommerce.project.security.services.UserDetailImpl;
 import com.ecommerce.project.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -61,7 +62,15 @@ public class AuthController {
     public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
         AuthenticationResult result = authService.login(loginRequest);
         return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE,
-                        result.getJwtCookie().toString())
+                        result.getJwtCookie().toString(), result.getRefreshCookie().toString())
+                .body(result.getResponse());
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(HttpServletRequest request) {
+        AuthenticationResult result = authService.refresh(jwtUtils.getRefreshTokenFromCookies(request));
+        return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE,
+                        result.getJwtCookie().toString(), result.getRefreshCookie().toString())
                 .body(result.getResponse());
     }
 
@@ -84,10 +93,14 @@ public class AuthController {
     }
 
     @PostMapping("/signout")
-    public ResponseEntity<?> signoutUser(){
-        ResponseCookie cookie = authService.logoutUser();
+    public ResponseEntity<?> signoutUser(HttpServletRequest request){
+        String jwt = jwtUtils.getJwtFromCookies(request);
+        if (jwt == null) {
+            jwt = jwtUtils.getJwtFromHeader(request);
+        }
+        List<ResponseCookie> cookies = authService.logoutUser(jwt, jwtUtils.getRefreshTokenFromCookies(request));
         return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE,
-                        cookie.toString())
+                        cookies.stream().map(ResponseCookie::toString).toArray(String[]::new))
                 .body(new MessageResponse("You've been signed out!"));
     }
 
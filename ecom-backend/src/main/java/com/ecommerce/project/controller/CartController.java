@@ -6,10 +6,12 @@ import com.ecommerce.project.payload.CartItemDTO;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.service.CartService;
 import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.JsonArrayStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,6 +28,9 @@ public class CartController {
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
 
 
     @PostMapping("/carts/products/{productId}/quantity/{quantity}")
@@ -35,9 +40,8 @@ public class CartController {
     }
 
     @GetMapping("/carts")
-    public ResponseEntity<List<CartDTO>> getCarts() {
-        List<CartDTO> cartDTOS = cartService.getAllCarts();
-        return new ResponseEntity<List<CartDTO>>(cartDTOS, HttpStatus.FOUND);
+    public ResponseEntity<StreamingResponseBody> getCarts() {
+        return jsonArrayStreamer.response(cartService::streamAllCarts);
     }
 
     @GetMapping("/carts/users/cart")
@@ -4,10 +4,8 @@ import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.payload.*;
 import com.ecommerce.project.security.services.UserDetailImpl;
 import com.ecommerce.project.service.OrderService;
-import com.ecommerce.project.service.StripeService;
+import com.ecommerce.project.service.PaymentGateway;
 import com.ecommerce.project.util.AuthUtil;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,7 +23,7 @@ public class OrderController {
     private AuthUtil authUtil;
 
     @Autowired
-    private StripeService stripeService;
+    private PaymentGateway paymentGateway;
 
     @PostMapping("/order/users/payments/{paymentMethod}")
     public ResponseEntity<OrderDTO> orderProducts(@PathVariable String paymentMethod ,
@@ -36,18 +34,15 @@ public class OrderController {
              orderRequestDTO.getAddressId(),
              paymentMethod,
              orderRequestDTO.getPgName(),
-             orderRequestDTO.getPgPaymentId(),
-             orderRequestDTO.getPgStatus(),
-             orderRequestDTO.getPgResponseMessage()
+             orderRequestDTO.getPgPaymentId()
              );
         return new ResponseEntity<>(order, HttpStatus.CREATED);
     }
 
     @PostMapping("/order/stripe-client-secret")
-    public ResponseEntity<String> createStripeClientSecret(@RequestBody StripePaymentDTO stripePaymentDto) throws StripeException {
-        System.out.println("StripePaymentDTO Received " + stripePaymentDto);
-        PaymentIntent paymentIntent = stripeService.paymentIntent(stripePaymentDto);
-        return new ResponseEntity<>(paymentIntent.getClientSecret(), HttpStatus.CREATED);
+    public ResponseEntity<String> createStripeClientSecret(@RequestBody StripePaymentDTO stripePaymentDto) {
+        String clientSecret = paymentGateway.createClientSecret(stripePaymentDto);
+        return new ResponseEntity<>(clientSecret, HttpStatus.CREATED);
     }
 
     @GetMapping("/admin/orders")
@@ -92,10 +87,24 @@ public class OrderController {
 
     }
 
+    @PutMapping("/admin/orders/status")
+    public ResponseEntity<BulkOrderStatusUpdateResponse> updateOrderStatuses(@RequestBody BulkOrderStatusUpdateDTO bulkOrderStatusUpdateDTO){
+        BulkOrderStatusUpdateResponse response = orderService.updateOrders(
+                bulkOrderStatusUpdateDTO.getOrderIds(), bulkOrderStatusUpdateDTO.getStatus());
+        return new ResponseEntity<BulkOrderStatusUpdateResponse>(response,HttpStatus.OK);
+    }
+
+    @PutMapping("/seller/orders/status")
+    public ResponseEntity<BulkOrderStatusUpdateResponse> updateOrderStatusesSeller(@RequestBody BulkOrderStatusUpdateDTO bulkOrderStatusUpdateDTO){
+        BulkOrderStatusUpdateResponse response = orderService.updateSellerOrders(
+                bulkOrderStatusUpdateDTO.getOrderIds(), bulkOrderStatusUpdateDTO.getStatus());
+        return new ResponseEntity<BulkOrderStatusUpdateResponse>(response,HttpStatus.OK);
+    }
+
     @PutMapping("/seller/orders/{orderId}/status")
     public ResponseEntity<OrderDTO> updateOrderStatusSeller(@PathVariable Long orderId,
                                                             @RequestBody OrderStatusUpdateDTO orderStatusUpdateDto) {
-        OrderDTO order = orderService.updateOrder(orderId, orderStatusUpdateDto.getStatus());
+        OrderDTO order = orderService.updateSellerOrder(orderId, orderStatusUpdateDto.getStatus());
         return new ResponseEntity<OrderDTO>(order, HttpStatus.OK);
     }
 }
@@ -0,0 +1,33 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.PaymentEvent;
+import com.ecommerce.project.service.PaymentEventQueue;
+import com.ecommerce.project.service.PaymentGateway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class PaymentWebhookController {
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private PaymentEventQueue paymentEventQueue;
+
+    @PostMapping("/webhooks/payments")
+    public ResponseEntity<String> handlePaymentWebhook(@RequestBody String payload,
+                                                       @RequestHeader HttpHeaders headers){
+        PaymentEvent event = paymentGateway.verifyWebhook(payload, headers.getFirst(paymentGateway.getSignatureHeader()));
+        if(event == null){
+            return new ResponseEntity<>("Ignored", HttpStatus.OK);
+        }
+        // Stored before acknowledging; if this throws the gateway redelivers the event later
+        paymentEventQueue.submit(event);
+        return new ResponseEntity<>("Queued", HttpStatus.ACCEPTED);
+    }
+}
@@ -2,7 +2,9 @@ package com.ecommerce.project.controller;
 
 import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFacetsResponse;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.ProductCacheWarmer;
 import com.ecommerce.project.service.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -20,6 +23,9 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductCacheWarmer productCacheWarmer;
+
     @PostMapping("/admin/categories/{categoryId}/product")
     public ResponseEntity<ProductDTO> addProduct(@Valid @RequestBody ProductDTO productDTO, @PathVariable Long categoryId){
       ProductDTO savedProductDTO = productService.addProduct(categoryId,productDTO);
@@ -43,9 +49,28 @@ public class ProductController {
             @RequestParam(name = "sortOrder" ,defaultValue = AppConstants.SORT_DIR ,required = false) String sortOrder
     ){
         ProductResponse productResponse= productService.getAllProducts(pageNumber,pageSize,sortBy,sortOrder,keyword,category);
+        productCacheWarmer.record(pageNumber,pageSize,sortBy,sortOrder,keyword,category);
         return new ResponseEntity<>(productResponse,HttpStatus.OK);
     }
 
+    @GetMapping("/public/products/facets")
+    public ResponseEntity<ProductFacetsResponse> getProductsWithFacets(
+            @RequestParam(name = "keyword" ,required = false)String keyword,
+            @RequestParam(name = "category" ,required = false)List<String> categories,
+            @RequestParam(name = "seller" ,required = false)List<Long> sellers,
+            @RequestParam(name = "price" ,required = false)List<String> priceRanges,
+            @RequestParam(name = "discount" ,required = false)List<String> discountRanges,
+            @RequestParam(name = "inStock" ,required = false)Boolean inStock,
+            @RequestParam(name = "pageNumber" ,defaultValue = AppConstants.PAGE_NUMBER ,required = false)Integer pageNumber,
+            @RequestParam(name = "pageSize",defaultValue = AppConstants.PAGE_SIZE ,required = false )Integer pageSize,
+            @RequestParam(name = "sortBy",defaultValue = AppConstants.SORT_PRODUCTS_BY ,required = false )String sortBy,
+            @RequestParam(name = "sortOrder" ,defaultValue = AppConstants.SORT_DIR ,required = false) String sortOrder
+    ){
+        ProductFacetsResponse productFacetsResponse = productService.getProductsWithFacets(pageNumber,pageSize,sortBy,
+                sortOrder,keyword,categories,sellers,priceRanges,discountRanges,inStock);
+        return new ResponseEntity<>(productFacetsResponse,HttpStatus.OK);
+    }
+
     @GetMapping("/public/categories/{categoryId}/products")
     public ResponseEntity<ProductResponse> getProductsByCategory(@PathVariable Long categoryId,
        @RequestParam(name = "pageNumber" ,defaultValue = AppConstants.PAGE_NUMBER ,required = false)Integer pageNumber,
@@ -54,7 +79,7 @@ public class ProductController {
        @RequestParam(name = "sortOrder" ,defaultValue = AppConstants.SORT_DIR ,required = false) String sortOrder
     ){
        ProductResponse productResponse = productService.searchByCategory(categoryId,pageNumber,pageSize,sortBy,sortOrder);
-        return  new ResponseEntity<>(productResponse, HttpStatus.CREATED);
+        return  new ResponseEntity<>(productResponse, HttpStatus.OK);
     }
     @GetMapping("/public/products/keyword/{keyword}")
     public ResponseEntity<ProductResponse> getProductsByKeyword(@PathVariable String keyword,
@@ -64,7 +89,7 @@ public class ProductController {
       @RequestParam(name = "sortOrder" ,defaultValue = AppConstants.SORT_DIR ,required = false) String sortOrder
     ){
         ProductResponse productResponse = productService.searchProductByKeyword(keyword,pageNumber,pageSize,sortBy,sortOrder);
-        return  new ResponseEntity<>(productResponse, HttpStatus.FOUND);
+        return  new ResponseEntity<>(productResponse, HttpStatus.OK);
     }
 
     @PutMapping("/admin/products/{productId}")
@@ -0,0 +1,33 @@
+package com.ecommerce.project.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts every SQL statement Hibernate prepares on the current thread. The count only ever grows; callers take
+ * a reading before and after the work they measure and subtract, so nested measurements never interfere.
+ * Statements issued outside Hibernate (Flyway, plain JDBC) are not seen.
+ */
+@Component
+public class JdbcStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.session_factory.statement_inspector", this);
+    }
+
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.project.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flags requests and service calls that issue more SQL statements than their budget, the usual symptom of an
+ * N+1 introduced by an EAGER association or by ModelMapper walking a lazy graph. Each overrun is logged and
+ * counted as {@code query.budget.exceeded}, tagged with the scope and the offending target.
+ */
+@Component
+public class QueryBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudget.class);
+
+    public static final String SCOPE_REQUEST = "request";
+
+    public static final String SCOPE_SERVICE = "service";
+
+    @Autowired
+    private QueryBudgetProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> exceededCounters = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void check(String scope, String target, long statements) {
+        int budget = properties.getOverrides().getOrDefault(target,
+                SCOPE_REQUEST.equals(scope) ? properties.getRequestMax() : properties.getServiceMethodMax());
+        if (statements <= budget) {
+            return;
+        }
+
+        exceededCounters.computeIfAbsent(scope + ":" + target, key -> Counter.builder("query.budget.exceeded")
+                        .description("Requests and service calls that issued more SQL statements than their budget")
+                        .tag("scope", scope)
+                        .tag("target", target)
+                        .register(meterRegistry))
+                .increment();
+
+        String message = String.format("%s %s issued %d SQL statements, budget is %d", scope, target, statements, budget);
+        if (properties.isFailOnExceeded()) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.project.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "query-budget")
+@Data
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    /** Most SQL statements one HTTP request may issue. */
+    private int requestMax = 20;
+
+    /** Most SQL statements one {@code *ServiceImpl} method call may issue, including nested calls. */
+    private int serviceMethodMax = 15;
+
+    /**
+     * Per-target budgets, keyed by URI template (e.g. {@code [/api/public/products]}) or by
+     * {@code ClassName.method} (e.g. {@code OrderServiceImpl.placeOrder}).
+     */
+    private Map<String, Integer> overrides = new HashMap<>();
+
+    /** Throw instead of logging when a budget is exceeded; meant for test runs. */
+    private boolean failOnExceeded = false;
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.project.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records {@code http.server.requests.jdbc.statements}: SQL statements per request, tagged like
+ * {@code http.server.requests} with the method and the matched URI template. Runs ahead of the security
+ * chain so the user lookup done by the JWT filter is counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    // method -> uri template -> summary; looked up without allocating once the meter exists
+    private final Map<String, Map<String, DistributionSummary>> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = JdbcStatementCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = JdbcStatementCounter.current() - before;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+            summary(request.getMethod(), uri).record(statements);
+            if (queryBudget.isEnabled()) {
+                queryBudget.check(QueryBudget.SCOPE_REQUEST, uri, statements);
+            }
+        }
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        Map<String, DistributionSummary> byUri = summaries.get(method);
+        if (byUri == null) {
+            byUri = summaries.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        DistributionSummary summary = byUri.get(uri);
+        if (summary == null) {
+            summary = byUri.computeIfAbsent(uri, key -> DistributionSummary.builder("http.server.requests.jdbc.statements")
+                    .description("SQL statements issued while handling a request")
+                    .baseUnit("statements")
+                    .tag("method", method)
+                    .tag("uri", key)
+                    .register(meterRegistry));
+        }
+        return summary;
+    }
+}
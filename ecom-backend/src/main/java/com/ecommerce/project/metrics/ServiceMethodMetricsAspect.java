@@ -0,0 +1,90 @@
+package com.ecommerce.project.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public {@code *ServiceImpl} method as {@code service.method}, tagged with class, method and
+ * outcome. Timers are resolved once per method and cached, so a call costs two clock reads and a record.
+ * Repository calls are timed by Spring Boot itself as {@code spring.data.repository.invocations}.
+ * Successful calls are also checked against the per-method SQL statement {@link QueryBudget}.
+ */
+// Outermost, so transaction commit (and its flush) is part of the measured call
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMethodMetricsAspect {
+
+    private static final String METRIC_NAME = "service.method";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    private final Map<Method, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    private final Map<Method, String> targets = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.ecommerce.project.service.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long statementsBefore = JdbcStatementCounter.current();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer(method(joinPoint), false).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        Method method = method(joinPoint);
+        timer(method, true).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (queryBudget.isEnabled()) {
+            queryBudget.check(QueryBudget.SCOPE_SERVICE, target(method), JdbcStatementCounter.current() - statementsBefore);
+        }
+        return result;
+    }
+
+    private Method method(ProceedingJoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+
+    private String target(Method method) {
+        String target = targets.get(method);
+        if (target == null) {
+            target = targets.computeIfAbsent(method,
+                    key -> key.getDeclaringClass().getSimpleName() + "." + key.getName());
+        }
+        return target;
+    }
+
+    private Timer timer(Method method, boolean success) {
+        Map<Method, Timer> timers = success ? successTimers : errorTimers;
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> Timer.builder(METRIC_NAME)
+                    .description("Latency of service layer methods")
+                    .tag("class", key.getDeclaringClass().getSimpleName())
+                    .tag("method", key.getName())
+                    .tag("outcome", success ? "success" : "error")
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
@@ -12,7 +12,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "addresses")
+@Table(name = "addresses",
+       indexes = @Index(name = "idx_addresses_user", columnList = "user_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,6 +46,10 @@ public class Address {
     @Size(min = 6 ,message = "PinCode name must be at least 6 characters")
     private String pincode;
 
+    // Set by AddressNormalizer; unique per user
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
 
     @ManyToOne
     @JoinColumn(name = "user_id")
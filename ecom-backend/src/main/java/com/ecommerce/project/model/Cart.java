@@ -28,4 +28,7 @@ public class Cart {
     private List<CartItem> cartItems =new ArrayList<>();
 
     private Double totalPrice = 0.0;
+
+    @Column(name = "checkout_version", nullable = false)
+    private Integer checkoutVersion = 0;
 }
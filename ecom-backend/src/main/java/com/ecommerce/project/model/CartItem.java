@@ -8,7 +8,11 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Data
-@Table(name = "cart_items")
+@Table(name = "cart_items",
+       indexes = {
+        @Index(name = "idx_cart_items_cart_product", columnList = "cart_id, product_id"),
+        @Index(name = "idx_cart_items_product", columnList = "product_id")
+       })
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartItem {
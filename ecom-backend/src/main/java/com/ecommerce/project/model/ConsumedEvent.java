@@ -0,0 +1,34 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Entity
+@Table(name = "consumed_events")
+@IdClass(ConsumedEvent.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumedEvent {
+    @Id
+    private String consumerName;
+
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Instant handledAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String consumerName;
+        private Long eventId;
+    }
+}
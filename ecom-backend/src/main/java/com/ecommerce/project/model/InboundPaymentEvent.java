@@ -0,0 +1,57 @@
+package com.ecommerce.project.model;
+
+import com.ecommerce.project.payload.PaymentEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "inbound_payment_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboundPaymentEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String pgPaymentId;
+
+    private String pgStatus;
+
+    @Column(length = 1000)
+    private String pgResponseMessage;
+
+    @Column(nullable = false)
+    private boolean succeeded;
+
+    private Long amount;
+
+    @Column(length = 16)
+    private String currency;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private Instant receivedAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant processedAt;
+
+    // Set once the event is given up on after max-attempts; parked events are purged like processed ones
+    private Instant deadAt;
+
+    public PaymentEvent toPaymentEvent() {
+        return new PaymentEvent(eventId, pgPaymentId, pgStatus, pgResponseMessage, succeeded, amount, currency);
+    }
+}
@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+       indexes = {
+        @Index(name = "idx_orders_email_total_amount", columnList = "email, total_amount"),
+        @Index(name = "idx_orders_total_amount", columnList = "total_amount")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,7 +38,10 @@ public class Order {
     private Payment payment;
 
     private Double totalAmount;
-    private String orderStatus;
+
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(nullable = false)
+    private OrderStatus orderStatus;
 
     @ManyToOne
     @JoinColumn(name = "address_id")
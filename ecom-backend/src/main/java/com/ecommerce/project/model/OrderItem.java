@@ -7,7 +7,11 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Data
-@Table(name = "order_items")
+@Table(name = "order_items",
+       indexes = {
+        @Index(name = "idx_order_items_order", columnList = "order_id"),
+        @Index(name = "idx_order_items_product", columnList = "product_id")
+       })
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItem {
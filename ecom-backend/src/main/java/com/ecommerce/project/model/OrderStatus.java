@@ -0,0 +1,87 @@
+package com.ecommerce.project.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle. Stored as its label, which is also what the API and the admin dashboard use.
+ */
+public enum OrderStatus {
+    PAYMENT_PENDING("Payment Pending"),
+    PAYMENT_FAILED("Payment Failed"),
+    PENDING("Pending"),
+    ACCEPTED("Accepted"),
+    PROCESSING("Processing"),
+    SHIPPED("Shipped"),
+    DELIVERED("Delivered"),
+    CANCELLED("Cancelled");
+
+    // Written by placeOrder before statuses were typed
+    private static final String LEGACY_ACCEPTED_LABEL = "Order Accepted !";
+
+    private final String label;
+
+    OrderStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Statuses an admin or seller may move an order to. Orders only leave the payment states through payment
+     * gateway events, so a status update can never stand in for a confirmed payment.
+     */
+    public Set<OrderStatus> nextStatuses() {
+        return switch (this) {
+            case PAYMENT_PENDING, PAYMENT_FAILED -> EnumSet.noneOf(OrderStatus.class);
+            case PENDING -> EnumSet.of(ACCEPTED, PROCESSING, CANCELLED);
+            case ACCEPTED -> EnumSet.of(PROCESSING, SHIPPED, CANCELLED);
+            case PROCESSING -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return nextStatuses().contains(target);
+    }
+
+    /**
+     * Statuses an order may be in to move to {@code target}.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Resolves a label or constant name, ignoring case. Returns {@code null} for anything else.
+     */
+    public static OrderStatus fromLabel(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase(LEGACY_ACCEPTED_LABEL)) {
+            return ACCEPTED;
+        }
+        for (OrderStatus status : values()) {
+            if (status.label.equalsIgnoreCase(trimmed) || status.name().equalsIgnoreCase(trimmed)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.getLabel();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(String label) {
+        if (label == null) {
+            return null;
+        }
+        OrderStatus status = OrderStatus.fromLabel(label);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown order status: " + label);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.project.model;
+
+import com.ecommerce.project.payload.OrderDTO;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Order history read model. The document is the order as it was rendered when it was placed;
+ * only the status columns change afterwards.
+ */
+@Entity
+@Table(name = "order_summaries",
+       indexes = {
+        @Index(name = "idx_order_summaries_email_total_amount", columnList = "email, total_amount"),
+        @Index(name = "idx_order_summaries_email_order_date", columnList = "email, order_date"),
+        @Index(name = "idx_order_summaries_email_order", columnList = "email, order_id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false)
+    private String email;
+
+    private LocalDate orderDate;
+
+    private Double totalAmount;
+
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(nullable = false)
+    private OrderStatus orderStatus;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private OrderDTO document;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
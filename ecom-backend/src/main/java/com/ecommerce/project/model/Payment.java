@@ -8,7 +8,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments",
+       indexes = @Index(name = "idx_payments_pg_payment_id", columnList = "pg_payment_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,7 +14,16 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "products")
+@Table(name = "products",
+       indexes = {
+        @Index(name = "idx_products_active_id", columnList = "is_active, product_id"),
+        @Index(name = "idx_products_seller", columnList = "seller_id"),
+        @Index(name = "idx_products_category_active_id", columnList = "category_id, is_active, product_id"),
+        @Index(name = "idx_products_category_active_price", columnList = "category_id, is_active, price"),
+        @Index(name = "idx_products_category_active_special_price", columnList = "category_id, is_active, special_price"),
+        @Index(name = "idx_products_category_active_name", columnList = "category_id, is_active, product_name")
+       })
+// Keyword search is additionally backed by a trigram index on lower(product_name), see V2__query_indexes.sql
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
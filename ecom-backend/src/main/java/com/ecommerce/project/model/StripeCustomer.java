@@ -0,0 +1,26 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stripe_customers")
+public class StripeCustomer {
+
+    @Id
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "customer_id", nullable = false, unique = true)
+    private String customerId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
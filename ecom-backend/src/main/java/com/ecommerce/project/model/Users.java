@@ -53,7 +53,8 @@ public class Users {
                            fetch = FetchType.EAGER)
     @JoinTable(name = "user_role" ,
               joinColumns = @JoinColumn(name = "user_id"),
-              inverseJoinColumns = @JoinColumn(name = "role_id"))
+              inverseJoinColumns = @JoinColumn(name = "role_id"),
+              indexes = @Index(name = "idx_user_role_role", columnList = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
     @Getter
@@ -10,4 +10,5 @@ import org.springframework.http.ResponseCookie;
 public class AuthenticationResult {
     private final UserInfoResponse response;
     private final ResponseCookie jwtCookie;
+    private final ResponseCookie refreshCookie;
 }
@@ -13,5 +13,7 @@ public class CategoryDTO {
     private Long categoryId;
     @Schema(description = "Category name for a particular category" , example = "Iphone 16")
     private String categoryName;
+    @Schema(description = "Number of active products in the category" , example = "42")
+    private Long productCount;
 
 }
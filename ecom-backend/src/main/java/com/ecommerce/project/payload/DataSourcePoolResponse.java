@@ -0,0 +1,28 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataSourcePoolResponse {
+
+    private String poolName;
+    private Integer maximumPoolSize;
+    private Integer minimumIdle;
+    private Integer activeConnections;
+    private Integer idleConnections;
+    private Integer totalConnections;
+    private Integer threadsAwaitingConnection;
+    private Long connectionAcquireCount;
+    private Long connectionTimeoutCount;
+    private Double acquireMeanMs;
+    private Double acquireP50Ms;
+    private Double acquireP95Ms;
+    private Double acquireP99Ms;
+    private Double acquireMaxMs;
+    private Double usageP95Ms;
+    private Double usageP99Ms;
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DomainEvent {
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private Map<String, Object> payload;
+    private Instant createdAt;
+}
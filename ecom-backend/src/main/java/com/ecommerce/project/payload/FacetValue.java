@@ -0,0 +1,17 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One value of a facet: {@code value} is what to pass back as the filter parameter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValue {
+    private String value;
+    private String label;
+    private Integer count;
+}
@@ -20,5 +20,6 @@ public class OrderDTO {
     private Double totalAmount;
     private String orderStatus;
     private Long addressId;
+    private AddressDTO address;
 
 }
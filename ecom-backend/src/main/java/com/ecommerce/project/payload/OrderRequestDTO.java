@@ -12,6 +12,4 @@ public class OrderRequestDTO {
     private String paymentMethod;
     private String pgName;
     private String pgPaymentId;
-    private String pgStatus;
-    private String pgResponseMessage;
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.project.payload;
+
+public enum OrderStatusUpdateOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    REJECTED,
+    CONFLICT
+}
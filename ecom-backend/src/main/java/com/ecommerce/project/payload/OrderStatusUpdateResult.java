@@ -0,0 +1,15 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusUpdateResult {
+    private Long orderId;
+    private OrderStatusUpdateOutcome outcome;
+    private String previousStatus;
+    private String currentStatus;
+}
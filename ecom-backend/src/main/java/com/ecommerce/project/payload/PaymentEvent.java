@@ -0,0 +1,19 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentEvent {
+    private String eventId;
+    private String pgPaymentId;
+    private String pgStatus;
+    private String pgResponseMessage;
+    private boolean succeeded;
+    // Amount in the currency's minor unit (e.g. cents), as the gateway reports it
+    private Long amount;
+    private String currency;
+}
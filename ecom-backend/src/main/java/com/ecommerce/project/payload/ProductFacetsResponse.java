@@ -0,0 +1,17 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+    private ProductResponse products;
+    // Keyed by filter parameter: category, seller, price, discount and inStock
+    private Map<String, List<FacetValue>> facets;
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.project.payload;
+
+import com.ecommerce.project.model.Users;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RefreshTokenRotation {
+    private final Users user;
+    private final String refreshToken;
+}
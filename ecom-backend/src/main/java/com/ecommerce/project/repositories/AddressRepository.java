@@ -1,9 +1,70 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Address;
+import com.ecommerce.project.payload.AddressDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface AddressRepository extends JpaRepository<Address,Long> {
+
+    @Query("SELECT a FROM Address a WHERE a.users.userId = ?1 ORDER BY a.addressId")
+    List<Address> findByUsersUserId(Long userId);
+
+    @Query("SELECT a FROM Address a WHERE a.addressId = ?1 AND a.users.userId = ?2")
+    Optional<Address> findByAddressIdAndUsersUserId(Long addressId, Long userId);
+
+    @Query("SELECT a FROM Address a WHERE a.addressId = ?1 AND a.users.email = ?2")
+    Optional<Address> findByAddressIdAndUsersEmail(Long addressId, String email);
+
+    @Query("SELECT a FROM Address a WHERE a.users.userId = ?1 AND a.contentHash = ?2")
+    Optional<Address> findByUsersUserIdAndContentHash(Long userId, String contentHash);
+
+    @Query("SELECT a.addressId FROM Address a WHERE a.users.userId = ?1 AND a.contentHash = ?2")
+    Optional<Long> findIdByUsersUserIdAndContentHash(Long userId, String contentHash);
+
+    /**
+     * Returns up to a page of {@code [addressId, userId, street, buildingName, city, state, country, pincode]} rows
+     * for addresses that have no content hash yet, in id order after {@code afterId}.
+     */
+    @Query("SELECT a.addressId, u.userId, a.street, a.buildingName, a.city, a.state, a.country, a.pincode "
+            + "FROM Address a LEFT JOIN a.users u WHERE a.contentHash IS NULL AND a.addressId > ?1 ORDER BY a.addressId")
+    List<Object[]> findUnhashedAfter(Long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Address a SET a.street = :street, a.buildingName = :buildingName, a.city = :city, "
+            + "a.state = :state, a.country = :country, a.pincode = :pincode, a.contentHash = :contentHash "
+            + "WHERE a.addressId = :addressId")
+    int updateNormalized(@Param("addressId") Long addressId, @Param("street") String street,
+                         @Param("buildingName") String buildingName, @Param("city") String city,
+                         @Param("state") String state, @Param("country") String country,
+                         @Param("pincode") String pincode, @Param("contentHash") String contentHash);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Address a WHERE a.addressId IN :ids")
+    int deleteByAddressIdIn(@Param("ids") Collection<Long> ids);
+
+    // Projected straight to DTOs: no managed entities, and no eager user load per address
+    @Query(value = "SELECT new com.ecommerce.project.payload.AddressDTO(a.addressId, a.street, a.buildingName, "
+            + "a.city, a.state, a.country, a.pincode) FROM Address a",
+            countQuery = "SELECT count(a) FROM Address a")
+    Page<AddressDTO> findAllAsDto(Pageable pageable);
+
+    @Query("SELECT new com.ecommerce.project.payload.AddressDTO(a.addressId, a.street, a.buildingName, a.city, "
+            + "a.state, a.country, a.pincode) FROM Address a ORDER BY a.addressId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AddressDTO> streamAllAsDto();
 }
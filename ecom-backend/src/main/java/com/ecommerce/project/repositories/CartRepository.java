@@ -1,10 +1,14 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Cart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CartRepository extends JpaRepository<Cart,Long> {
     @Query("SELECT c FROM Cart c WHERE c.users.email=?1")
@@ -16,4 +20,17 @@ public interface CartRepository extends JpaRepository<Cart,Long> {
     @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.id=?1")
     List<Cart> findCartsByProductId(Long productId);
 
+    /**
+     * One row per cart item, ordered by cart so carts can be assembled while the cursor is read:
+     * {@code [cartId, totalPrice, itemQuantity, productId, productName, image, description, price, discount,
+     * specialPrice]}. Empty carts yield a single row with null item and product columns.
+     * Scalars only, so no entities (and none of their eager associations) are loaded. Must be consumed inside a
+     * transaction.
+     */
+    @Query("SELECT c.cartId, c.totalPrice, ci.quantity, p.productId, p.productName, p.image, p.description, "
+            + "p.price, p.discount, p.specialPrice "
+            + "FROM Cart c LEFT JOIN c.cartItems ci LEFT JOIN ci.product p ORDER BY c.cartId, ci.cartItemId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Object[]> streamAllWithItems();
+
 }
@@ -0,0 +1,35 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.ConsumedEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ConsumedEventRepository extends JpaRepository<ConsumedEvent,ConsumedEvent.Key> {
+
+    @Query("SELECT c.eventId FROM ConsumedEvent c WHERE c.consumerName = :consumerName AND c.eventId IN :eventIds")
+    List<Long> findHandledEventIds(@Param("consumerName") String consumerName,
+                                   @Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Commits independently of the caller, so a handled event stays recorded when the relay batch is rolled back
+     * and retried.
+     */
+    @Modifying
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @Query(value = "INSERT INTO consumed_events (consumer_name, event_id, handled_at) " +
+            "VALUES (:consumerName, :eventId, now()) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markHandled(@Param("consumerName") String consumerName, @Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM ConsumedEvent c WHERE c.handledAt < :handledBefore")
+    int deleteHandledBefore(@Param("handledBefore") Instant handledBefore);
+}
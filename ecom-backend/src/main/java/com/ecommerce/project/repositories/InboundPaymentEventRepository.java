@@ -0,0 +1,61 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.InboundPaymentEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface InboundPaymentEventRepository extends JpaRepository<InboundPaymentEvent,Long> {
+
+    /**
+     * Stores the event unless an event with the same gateway id was stored before. Returns the number of rows inserted.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO inbound_payment_events (event_id, pg_payment_id, pg_status, pg_response_message, " +
+            "succeeded, amount, currency, attempts, received_at, next_attempt_at) " +
+            "VALUES (:eventId, :pgPaymentId, :pgStatus, :pgResponseMessage, :succeeded, :amount, :currency, 0, " +
+            ":receivedAt, :nextAttemptAt) ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId, @Param("pgPaymentId") String pgPaymentId,
+                       @Param("pgStatus") String pgStatus, @Param("pgResponseMessage") String pgResponseMessage,
+                       @Param("succeeded") boolean succeeded, @Param("amount") Long amount,
+                       @Param("currency") String currency, @Param("receivedAt") Instant receivedAt,
+                       @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    /**
+     * Locks the unprocessed event that is due first. Events locked by another instance are skipped rather than waited for.
+     */
+    @Query(value = "SELECT * FROM inbound_payment_events WHERE processed_at IS NULL AND dead_at IS NULL " +
+            "AND next_attempt_at <= :now ORDER BY next_attempt_at LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<InboundPaymentEvent> lockNextDue(@Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE InboundPaymentEvent e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int reschedule(@Param("id") Long id, @Param("attempts") Integer attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE InboundPaymentEvent e SET e.attempts = :attempts, e.deadAt = :deadAt WHERE e.id = :id")
+    int markDead(@Param("id") Long id, @Param("attempts") Integer attempts, @Param("deadAt") Instant deadAt);
+
+    @Query("SELECT COUNT(e) FROM InboundPaymentEvent e WHERE e.processedAt IS NULL AND e.deadAt IS NULL")
+    long countUnprocessed();
+
+    @Query("SELECT COUNT(e) FROM InboundPaymentEvent e WHERE e.deadAt IS NOT NULL")
+    long countDead();
+
+    @Modifying
+    @Query("DELETE FROM InboundPaymentEvent e WHERE e.processedAt < :processedBefore")
+    int deleteProcessedBefore(@Param("processedBefore") Instant processedBefore);
+
+    @Modifying
+    @Query("DELETE FROM InboundPaymentEvent e WHERE e.deadAt < :deadBefore")
+    int deleteDeadBefore(@Param("deadBefore") Instant deadBefore);
+}
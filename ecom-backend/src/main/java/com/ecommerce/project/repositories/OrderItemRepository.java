@@ -2,9 +2,21 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem,Long> {
     boolean existsByProductProductId(Long productId);
+
+    /**
+     * Returns the ids among {@code orderIds} of orders that contain at least one product sold by the seller.
+     */
+    @Query("SELECT DISTINCT oi.order.id FROM OrderItem oi WHERE oi.order.id IN :orderIds AND oi.product.user.userId = :sellerId")
+    List<Long> findOrderIdsWithSellerProducts(@Param("orderIds") Collection<Long> orderIds,
+                                              @Param("sellerId") Long sellerId);
 }
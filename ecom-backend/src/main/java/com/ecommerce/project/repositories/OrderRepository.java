@@ -1,11 +1,17 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order,Long> {
 
@@ -13,4 +19,26 @@ public interface OrderRepository extends JpaRepository<Order,Long> {
     Double getTotalRevenue();
 
     Page<Order> findByEmail(String email, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Returns {@code [id, orderStatus, email]} rows for the given ids.
+     */
+    @Query("SELECT o.id, o.orderStatus, o.email FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves the given orders to {@code target}, skipping any whose current status is not one of {@code sources}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatus = :target WHERE o.id IN :ids AND o.orderStatus IN :sources")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("sources") Collection<OrderStatus> sources,
+                         @Param("target") OrderStatus target);
+
+    /**
+     * Points every order shipped to {@code fromAddressId} at {@code toAddressId}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE orders SET address_id = :to WHERE address_id = :from", nativeQuery = true)
+    int reassignAddress(@Param("from") Long fromAddressId, @Param("to") Long toAddressId);
 }
@@ -0,0 +1,26 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.OrderStatus;
+import com.ecommerce.project.model.OrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary,Long> {
+
+    Page<OrderSummary> findByEmail(String email, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OrderSummary s SET s.orderStatus = :status, s.updatedAt = :updatedAt WHERE s.orderId IN :orderIds")
+    int updateStatus(@Param("orderIds") Collection<Long> orderIds,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") Instant updatedAt);
+}
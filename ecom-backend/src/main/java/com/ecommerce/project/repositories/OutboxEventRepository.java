@@ -0,0 +1,47 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent,Long> {
+
+    /**
+     * Locks the oldest unpublished events. Rows locked by another relay are skipped rather than waited for.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL AND created_at < :visibleBefore " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockUnpublishedBatch(@Param("visibleBefore") Instant visibleBefore, @Param("limit") int limit);
+
+    /**
+     * Id of the newest event created before the given time; later ids may belong to transactions still in flight.
+     */
+    @Query(value = "SELECT id FROM outbox_events WHERE created_at < :createdBefore ORDER BY id DESC LIMIT 1",
+            nativeQuery = true)
+    Optional<Long> findLatestIdCreatedBefore(@Param("createdBefore") Instant createdBefore);
+
+    /**
+     * Events of one aggregate type with {@code afterId < id <= upToId}, oldest first, published or not.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE aggregate_type = :aggregateType AND id > :afterId " +
+            "AND id <= :upToId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findByAggregateTypeInRange(@Param("aggregateType") String aggregateType,
+                                                 @Param("afterId") long afterId, @Param("upToId") long upToId,
+                                                 @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :publishedBefore")
+    int deletePublishedBefore(@Param("publishedBefore") Instant publishedBefore);
+}
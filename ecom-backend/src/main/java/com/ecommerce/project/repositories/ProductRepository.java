@@ -1,23 +1,45 @@
 package com.ecommerce.project.repositories;
 
-import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.model.Users;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product,Long>, JpaSpecificationExecutor<Product> {
 
 
-    Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
+    Page<Product> findByUser(Users user, Pageable pageDetails);
 
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+    @Query("SELECT p.category.categoryId, COUNT(p) FROM Product p WHERE p.isActive = true GROUP BY p.category.categoryId")
+    List<Object[]> countActiveProductsByCategory();
 
-    Page<Product> findByUser(Users user, Pageable pageDetails);
+    /**
+     * {@code [productId, productName, categoryId, sellerId, sellerName, price, specialPrice, discount, quantity]}
+     * for every active product, as loaded into the facet index. Must be consumed inside a transaction.
+     */
+    @Query("SELECT p.productId, p.productName, c.categoryId, u.userId, u.userName, p.price, p.specialPrice, "
+            + "p.discount, p.quantity FROM Product p LEFT JOIN p.category c LEFT JOIN p.user u WHERE p.isActive = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Object[]> streamActiveFacetRows();
+
+    /**
+     * Facet rows of the given products, inactive ones included, with {@code isActive} appended as the last column.
+     */
+    @Query("SELECT p.productId, p.productName, c.categoryId, u.userId, u.userName, p.price, p.specialPrice, "
+            + "p.discount, p.quantity, p.isActive FROM Product p LEFT JOIN p.category c LEFT JOIN p.user u "
+            + "WHERE p.productId IN :productIds")
+    List<Object[]> findFacetRowsByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
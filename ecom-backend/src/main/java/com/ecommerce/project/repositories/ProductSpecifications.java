@@ -0,0 +1,34 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable storefront filters for {@link ProductRepository}.
+ * Category filters compare the {@code category_id} foreign key directly so they are served by the
+ * composite {@code (category_id, is_active, ...)} indexes declared on {@link Product}.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> isActive() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<Product> nameContains(String keyword) {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.like(criteriaBuilder.lower(root.get("productName")), pattern);
+    }
+
+    /**
+     * Filters on the category id; a {@code null} id (unknown category) matches nothing.
+     */
+    public static Specification<Product> inCategory(Long categoryId) {
+        return (root, query, criteriaBuilder) -> categoryId == null
+                ? criteriaBuilder.disjunction()
+                : criteriaBuilder.equal(root.get("category").get("categoryId"), categoryId);
+    }
+}
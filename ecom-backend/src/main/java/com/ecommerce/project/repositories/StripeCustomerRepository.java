@@ -0,0 +1,19 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.StripeCustomer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StripeCustomerRepository extends JpaRepository<StripeCustomer,String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO stripe_customers (email, customer_id, created_at) VALUES (:email, :customerId, now()) " +
+            "ON CONFLICT (email) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("email") String email, @Param("customerId") String customerId);
+}
@@ -16,7 +16,10 @@ import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
@@ -31,6 +34,12 @@ public class JwtUtils {
     @Value("${spring.app.jwtCookieName}")
     private String jwtCookie;
 
+    @Value("${spring.app.jwtRefreshExpirationMs}")
+    private long jwtRefreshExpirationMs;
+
+    @Value("${spring.app.jwtRefreshCookieName}")
+    private String jwtRefreshCookie;
+
 //    public String getJwtFromHeader(HttpServletRequest request) {
 //        String bearerToken = request.getHeader("Authorization");
 //        logger.debug("Authorization Header: {}", bearerToken);
@@ -49,6 +58,11 @@ public class JwtUtils {
         }
     }
 
+    public String getRefreshTokenFromCookies(HttpServletRequest request){
+        Cookie cookie = WebUtils.getCookie(request,jwtRefreshCookie);
+        return cookie != null ? cookie.getValue() : null;
+    }
+
     public String getJwtFromHeader(HttpServletRequest request){
         String bearerToken = request.getHeader("Authorization");
 
@@ -59,10 +73,14 @@ public class JwtUtils {
     }
 
     public ResponseCookie generateJwtCookie(UserDetailImpl userPricipal){
-        String jwt = generateTokenFromUsername(userPricipal.getUsername());
+        return generateJwtCookie(userPricipal.getUsername());
+    }
+
+    public ResponseCookie generateJwtCookie(String username){
+        String jwt = generateTokenFromUsername(username);
         ResponseCookie cookie = ResponseCookie.from(jwtCookie, jwt)
                 .path("/")
-                .maxAge(24 * 60 * 60)
+                .maxAge(Duration.ofMillis(jwtExpirationMs))
                 .httpOnly(true)
                 .secure(false)
                 .sameSite("Strict")
@@ -70,17 +88,38 @@ public class JwtUtils {
         return cookie;
     }
 
+    // Only sent to the auth endpoints, never with ordinary API calls
+    public ResponseCookie generateRefreshCookie(String refreshToken){
+        return ResponseCookie.from(jwtRefreshCookie, refreshToken)
+                .path("/api/auth")
+                .maxAge(Duration.ofMillis(jwtRefreshExpirationMs))
+                .httpOnly(true)
+                .secure(false)
+                .sameSite("Strict")
+                .build();
+    }
+
+    // Path must match the one the cookie was issued with, or the browser keeps the original
     public ResponseCookie getCleanJwtCookie(){
-        ResponseCookie cookie = ResponseCookie.from(jwtCookie,null)
-                .path("/api")
+        ResponseCookie cookie = ResponseCookie.from(jwtCookie,"")
+                .path("/")
+                .maxAge(0)
                 .build();
         return cookie;
     }
 
+    public ResponseCookie getCleanRefreshCookie(){
+        return ResponseCookie.from(jwtRefreshCookie,"")
+                .path("/api/auth")
+                .maxAge(0)
+                .build();
+    }
+
     public String generateTokenFromUsername(String username) {
 //        String username = userDetails.getUsername();
         return Jwts.builder()
                 .subject(username)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(key())
@@ -94,13 +133,27 @@ public class JwtUtils {
                 .getPayload().getSubject();
     }
 
+    // Tokens issued before ids were added have none and cannot be revoked individually
+    public String getTokenIdFromJwtToken(String token) {
+        return Jwts.parser()
+                .verifyWith((SecretKey) key())
+                .build().parseSignedClaims(token)
+                .getPayload().getId();
+    }
+
+    public Instant getExpirationFromJwtToken(String token) {
+        return Jwts.parser()
+                .verifyWith((SecretKey) key())
+                .build().parseSignedClaims(token)
+                .getPayload().getExpiration().toInstant();
+    }
+
     private Key key() {
         return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
     }
 
     public boolean validateJwtToken(String authToken) {
         try {
-            System.out.println("Validate");
             Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(authToken);
             return true;
         } catch (MalformedJwtException e) {
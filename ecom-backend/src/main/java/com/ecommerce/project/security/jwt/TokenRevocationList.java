@@ -0,0 +1,51 @@
+package com.ecommerce.project.security.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Redis denylist of access-token ids revoked before they expire (sign-out). Entries live only as long as the
+ * token would have, so the list stays as small as the number of sign-outs within one access-token lifetime.
+ * A Redis outage fails open: the token stays usable until its (short) expiry.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final String REDIS_KEY_PREFIX = "auth:revoked:";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (tokenId == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + tokenId, "1", ttl);
+        } catch (DataAccessException e) {
+            logger.warn("Could not record revoked token in Redis: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(REDIS_KEY_PREFIX + tokenId));
+        } catch (DataAccessException e) {
+            logger.warn("Redis lookup of revoked tokens failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.project.security.password;
+
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs credential verification on a small fixed pool with a bounded queue, so a login storm occupies at most
+ * that many cores and the rest of the traffic keeps running. When the queue is full, or a login waits longer
+ * than the timeout, the caller gets a 503 with Retry-After instead of piling up more work.
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMillis;
+
+    public PasswordVerificationExecutor(@Value("${auth.password.verification-threads:0}") int threads,
+                                        @Value("${auth.password.verification-queue-capacity:200}") int queueCapacity,
+                                        @Value("${auth.password.verification-timeout-ms:5000}") long timeoutMillis,
+                                        MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-verification");
+    }
+
+    public <T> T verify(Callable<T> verification) {
+        Future<T> future;
+        try {
+            future = executor.submit(verification);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many sign-in attempts in progress, please retry shortly", 1);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Sign-in is taking too long, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Sign-in was interrupted, please retry", 1);
+        } catch (ExecutionException e) {
+            // Keep bad credentials and locked accounts flowing to the usual 401 handling
+            Throwable cause = e.getCause();
+            if (cause instanceof AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.project.security.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers successful verifications for a short time so repeated logins with the same credentials skip the
+ * slow hash. Entries are keyed by an HMAC of the stored hash and the raw password under a random per-process key,
+ * so the raw password is never kept and a password change invalidates its entries. Failed attempts are never cached.
+ */
+public class VerificationCachingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final long ttlMillis;
+
+    private final int maxEntries;
+
+    private final SecretKeySpec key;
+
+    private final ConcurrentHashMap<String, Long> verifiedUntil = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public VerificationCachingPasswordEncoder(PasswordEncoder delegate, long ttlMillis, int maxEntries,
+                                              MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+        this.hits = Counter.builder("auth.password.verification.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.password.verification.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String cacheKey = cacheKey(rawPassword, encodedPassword);
+        long now = System.currentTimeMillis();
+        Long until = verifiedUntil.get(cacheKey);
+        if (until != null && until > now) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            if (verifiedUntil.size() >= maxEntries) {
+                verifiedUntil.values().removeIf(expiry -> expiry <= now);
+                if (verifiedUntil.size() >= maxEntries) {
+                    verifiedUntil.clear();
+                }
+            }
+            verifiedUntil.put(cacheKey, now + ttlMillis);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String cacheKey(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.project.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests doing work at once. A request that cannot start within the queue-wait threshold
+ * is turned away with 429 and Retry-After, so spikes queue in clients instead of in front of the DB pool.
+ * Runs before {@code AuthTokenFilter}, whose user lookup already needs a connection.
+ *
+ * The cap has to stay below Tomcat's worker pool, otherwise excess requests wait for a thread in Tomcat's own queue,
+ * where this filter never sees them. Waiting counts from the proxy's request-start header when there is one, so
+ * time spent in the proxy and Tomcat queues uses up the same budget.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+
+    private final Semaphore permits;
+
+    private final long maxQueueWaitMs;
+
+    private final long retryAfterMs;
+
+    private final ObjectMapper objectMapper;
+
+    private final Timer queueTimer;
+
+    private final Counter shedCounter;
+
+    private final String requestStartHeader;
+
+    public LoadSheddingFilter(@Value("${load-shedding.enabled:true}") boolean enabled,
+                              @Value("${load-shedding.max-concurrent-requests:200}") int maxConcurrentRequests,
+                              @Value("${load-shedding.max-queue-wait-ms:250}") long maxQueueWaitMs,
+                              @Value("${load-shedding.retry-after-seconds:1}") long retryAfterSeconds,
+                              @Value("${load-shedding.request-start-header:X-Request-Start}") String requestStartHeader,
+                              @Value("${server.tomcat.threads.max:200}") int maxThreads,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        if (enabled && !virtualThreads && maxConcurrentRequests >= maxThreads) {
+            throw new IllegalArgumentException("load-shedding.max-concurrent-requests (" + maxConcurrentRequests
+                    + ") must be below server.tomcat.threads.max (" + maxThreads + ")");
+        }
+        this.enabled = enabled;
+        this.requestStartHeader = requestStartHeader;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxQueueWaitMs = maxQueueWaitMs;
+        this.retryAfterMs = retryAfterSeconds * 1000;
+        this.objectMapper = objectMapper;
+        this.queueTimer = Timer.builder("http.server.requests.queue")
+                .description("Time requests waited from arrival until they got a load-shedding permit")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("http.server.requests.rejected")
+                .tag("reason", "load-shedding")
+                .tag("rule", "none")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long queuedBeforeMs = queuedBeforeFilterMs(request);
+        boolean acquired;
+        try {
+            acquired = queuedBeforeMs < maxQueueWaitMs
+                    && permits.tryAcquire(maxQueueWaitMs - queuedBeforeMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        queueTimer.record(TimeUnit.MILLISECONDS.toNanos(queuedBeforeMs) + System.nanoTime() - start,
+                TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            shedCounter.increment();
+            TooManyRequestsResponse.send(response, objectMapper, retryAfterMs, "Server is busy, please retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // "t=<epoch>" as set by the proxy, in seconds (with a fraction), milliseconds or microseconds. A missing,
+    // unreadable or future value counts as arriving now, so a forged header can only get its own request shed
+    private long queuedBeforeFilterMs(HttpServletRequest request) {
+        String header = requestStartHeader.isBlank() ? null : request.getHeader(requestStartHeader);
+        if (header == null) {
+            return 0;
+        }
+        String value = header.startsWith("t=") ? header.substring(2).trim() : header.trim();
+        long arrivedAtMs;
+        try {
+            if (value.contains(".")) {
+                arrivedAtMs = (long) (Double.parseDouble(value) * 1000);
+            } else {
+                long epoch = Long.parseLong(value);
+                arrivedAtMs = epoch >= 100_000_000_000_000L ? epoch / 1000
+                        : epoch >= 100_000_000_000L ? epoch
+                        : epoch * 1000;
+            }
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - arrivedAtMs);
+    }
+}
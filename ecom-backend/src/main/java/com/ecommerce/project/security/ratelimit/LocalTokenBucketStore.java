@@ -0,0 +1,75 @@
+package com.ecommerce.project.security.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory token buckets. Each bucket's state is an immutable snapshot swapped with compare-and-set,
+ * so concurrent requests for the same key never block each other.
+ */
+@Component
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryConsume(String key, long capacity, double refillPerSecond) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, refillPerSecond));
+        }
+        return bucket.tryConsume();
+    }
+
+    /**
+     * Drops buckets that have refilled completely; they are recreated full on the next request.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static final class Bucket {
+
+        private final long capacity;
+
+        private final double refillPerNano;
+
+        private final AtomicReference<State> state;
+
+        private Bucket(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000d;
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        private long tryConsume() {
+            while (true) {
+                State current = state.get();
+                long now = System.nanoTime();
+                double tokens = available(current, now);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000d);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean isFull(long now) {
+            return available(state.get(), now) >= capacity;
+        }
+
+        private double available(State current, long now) {
+            return Math.min(capacity, current.tokens() + (now - current.refilledAt()) * refillPerNano);
+        }
+    }
+
+    private record State(double tokens, long refilledAt) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.project.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the configured token-bucket rules. Runs after {@code AuthTokenFilter} so per-user rules can key
+ * on the authenticated user; registered only in the security chain, not as a servlet filter.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private TokenBucketStore tokenBucketStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimitProperties.isEnabled()) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            for (RateLimitProperties.Rule rule : rateLimitProperties.getRules()) {
+                if (!matches(rule, request.getMethod(), path)) {
+                    continue;
+                }
+                long waitMillis = tokenBucketStore.tryConsume(rule.getName() + ":" + resolveKey(rule, request),
+                        rule.getCapacity(), rule.getRefillPerSecond());
+                if (waitMillis > 0) {
+                    meterRegistry.counter("http.server.requests.rejected", "reason", "rate-limit", "rule", rule.getName())
+                            .increment();
+                    TooManyRequestsResponse.send(response, objectMapper, waitMillis, "Too many requests, please retry later");
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Rule rule, String method, String path) {
+        if (rule.getMethod() != null && !rule.getMethod().isBlank() && !rule.getMethod().equalsIgnoreCase(method)) {
+            return false;
+        }
+        return pathMatcher.match(rule.getPath(), path);
+    }
+
+    // Behind a proxy, server.forward-headers-strategy=native makes the remote address the client's, taken from
+    // X-Forwarded-For only when the connection comes from a trusted proxy (server.tomcat.remoteip.internal-proxies)
+    private String resolveKey(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        return switch (rule.getKey()) {
+            case ROUTE -> "route";
+            case USER -> {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                yield authentication != null && authentication.isAuthenticated()
+                        && !(authentication instanceof AnonymousAuthenticationToken)
+                        ? "user:" + authentication.getName()
+                        : "ip:" + request.getRemoteAddr();
+            }
+            case IP -> "ip:" + request.getRemoteAddr();
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.project.security.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Where buckets live: {@code local} (per instance) or {@code redis} (shared by all instances).
+     */
+    private String store = "local";
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        /** Ant-style path pattern, e.g. {@code /api/public/**}. */
+        private String path;
+        /** HTTP method to limit; all methods when empty. */
+        private String method;
+        private KeyType key = KeyType.IP;
+        private long capacity;
+        private double refillPerSecond;
+    }
+
+    public enum KeyType {
+        /** One bucket per client address. */
+        IP,
+        /** One bucket per authenticated user, falling back to the client address. */
+        USER,
+        /** A single bucket shared by every caller of the route. */
+        ROUTE
+    }
+}
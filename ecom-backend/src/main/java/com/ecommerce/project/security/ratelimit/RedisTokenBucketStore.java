@@ -0,0 +1,68 @@
+package com.ecommerce.project.security.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by all instances. Refill and take happen atomically in a Lua script using the Redis clock.
+ * If Redis is unavailable the request is limited by the local buckets instead of failing.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis")
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketStore.class);
+
+    private static final RedisScript<Long> TAKE_TOKEN = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + (now - ts) * refill_per_ms)
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                wait = math.ceil((1 - tokens) / refill_per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms) + 1000)
+            return wait
+            """, Long.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private LocalTokenBucketStore localTokenBucketStore;
+
+    @Override
+    public long tryConsume(String key, long capacity, double refillPerSecond) {
+        try {
+            Long wait = stringRedisTemplate.execute(TAKE_TOKEN, List.of("ratelimit:" + key),
+                    String.valueOf(capacity), String.valueOf(refillPerSecond / 1000d));
+            return wait == null ? 0 : wait;
+        } catch (DataAccessException e) {
+            logger.warn("Redis rate limit store unavailable, using local buckets: {}", e.getMessage());
+            return localTokenBucketStore.tryConsume(key, capacity, refillPerSecond);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.project.security.ratelimit;
+
+public interface TokenBucketStore {
+
+    /**
+     * Takes one token from the bucket, creating it full if needed.
+     * Returns 0 when a token was taken, otherwise the milliseconds until one becomes available.
+     */
+    long tryConsume(String key, long capacity, double refillPerSecond);
+}
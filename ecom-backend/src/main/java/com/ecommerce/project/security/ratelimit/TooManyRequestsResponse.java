@@ -0,0 +1,25 @@
+package com.ecommerce.project.security.ratelimit;
+
+import com.ecommerce.project.payload.APIResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+final class TooManyRequestsResponse {
+
+    private TooManyRequestsResponse() {
+    }
+
+    static void send(HttpServletResponse response, ObjectMapper objectMapper, long retryAfterMillis, String message)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new APIResponse(message, false));
+    }
+}
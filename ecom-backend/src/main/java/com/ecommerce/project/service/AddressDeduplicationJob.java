@@ -0,0 +1,157 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.repositories.AddressRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.util.AddressNormalizer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Normalizes and hashes addresses stored before {@link AddressNormalizer} existed, and merges each user's
+ * duplicates into one copy (an address that is already hashed, otherwise the lowest id): orders are moved to
+ * the kept address and the duplicate is deleted.
+ * Works through the table in id order, one chunk per transaction, so it can run against a live database and
+ * simply be started again if it is interrupted. Order summaries keep their address snapshot as placed.
+ */
+@Component
+public class AddressDeduplicationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressDeduplicationJob.class);
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${address.dedup.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "address-dedup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts a run in the background. Throws {@link APIException} if one is already running.
+     */
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new APIException("Address deduplication is already running");
+        }
+        executor.execute(this::runClaimed);
+    }
+
+    // Disabled unless address.dedup.cron is set
+    @Scheduled(cron = "${address.dedup.cron:-}")
+    public void scheduledRun() {
+        if (running.compareAndSet(false, true)) {
+            runClaimed();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runClaimed() {
+        try {
+            long scanned = 0;
+            long merged = 0;
+            long ordersReassigned = 0;
+            long afterId = 0;
+            ChunkResult chunk;
+            do {
+                long from = afterId;
+                chunk = transactionTemplate.execute(status -> deduplicateChunk(from));
+                if (chunk == null) {
+                    break;
+                }
+                scanned += chunk.scanned();
+                merged += chunk.merged();
+                ordersReassigned += chunk.ordersReassigned();
+                afterId = chunk.lastAddressId();
+            } while (chunk.scanned() == chunkSize);
+            logger.info("Address deduplication scanned {} addresses, merged {} duplicates, moved {} orders",
+                    scanned, merged, ordersReassigned);
+        } catch (RuntimeException e) {
+            logger.warn("Address deduplication failed, completed chunks are kept; run it again to continue", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ChunkResult deduplicateChunk(long afterId) {
+        List<Object[]> rows = addressRepository.findUnhashedAfter(afterId, PageRequest.of(0, chunkSize));
+        Map<String, Long> keptInChunk = new HashMap<>();
+        List<Long> duplicates = new ArrayList<>();
+        long lastAddressId = afterId;
+        int ordersReassigned = 0;
+
+        for (Object[] row : rows) {
+            Long addressId = (Long) row[0];
+            Long userId = (Long) row[1];
+            lastAddressId = addressId;
+
+            String street = AddressNormalizer.normalizeText((String) row[2]);
+            String buildingName = AddressNormalizer.normalizeText((String) row[3]);
+            String city = AddressNormalizer.normalizeText((String) row[4]);
+            String state = AddressNormalizer.normalizeText((String) row[5]);
+            String country = AddressNormalizer.normalizeText((String) row[6]);
+            String pincode = AddressNormalizer.normalizePincode((String) row[7]);
+            String contentHash = AddressNormalizer.contentHash(street, buildingName, city, state, country, pincode);
+
+            // Addresses without a user cannot be matched to anything; they are only normalized
+            Long keptAddressId = null;
+            String key = userId + ":" + contentHash;
+            if (userId != null) {
+                keptAddressId = keptInChunk.get(key);
+                if (keptAddressId == null) {
+                    keptAddressId = addressRepository.findIdByUsersUserIdAndContentHash(userId, contentHash).orElse(null);
+                }
+            }
+
+            if (keptAddressId != null) {
+                ordersReassigned += orderRepository.reassignAddress(addressId, keptAddressId);
+                duplicates.add(addressId);
+            } else {
+                addressRepository.updateNormalized(addressId, street, buildingName, city, state, country, pincode,
+                        contentHash);
+                if (userId != null) {
+                    keptInChunk.put(key, addressId);
+                }
+            }
+        }
+
+        if (!duplicates.isEmpty()) {
+            addressRepository.deleteByAddressIdIn(duplicates);
+        }
+        return new ChunkResult(rows.size(), lastAddressId, duplicates.size(), ordersReassigned);
+    }
+
+    private record ChunkResult(int scanned, long lastAddressId, int merged, int ordersReassigned) {
+    }
+}
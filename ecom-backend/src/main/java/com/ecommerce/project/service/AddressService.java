@@ -2,20 +2,32 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.model.Users;
 import com.ecommerce.project.payload.AddressDTO;
+import com.ecommerce.project.payload.AddressResponse;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AddressService {
-    AddressDTO createAddress(AddressDTO addressDTO, Users user);
+    CreatedAddress createAddress(AddressDTO addressDTO, Users user);
 
-    List<AddressDTO> getAddresses();
+    AddressResponse getAllAddresses(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
-    AddressDTO getAddressesById(Long addressId);
+    void streamAddresses(Consumer<AddressDTO> consumer);
 
-    List<AddressDTO> getUserAddresses(Users user);
+    AddressDTO getAddressesById(Long addressId, Long userId);
 
-    AddressDTO updateAddress(Long addressId, @Valid AddressDTO addressDTO);
+    List<AddressDTO> getUserAddresses(Long userId);
 
-    String deleteAddress(Long addressId);
+    AddressDTO updateAddress(Long addressId, @Valid AddressDTO addressDTO, Long userId);
+
+    String deleteAddress(Long addressId, Long userId);
+
+    void startDeduplication();
+
+    /**
+     * {@code created} is false when the user already had the same address and that copy is returned.
+     */
+    record CreatedAddress(AddressDTO address, boolean created) {
+    }
 }
@@ -1,17 +1,32 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.model.Address;
 import com.ecommerce.project.model.Users;
 import com.ecommerce.project.payload.AddressDTO;
+import com.ecommerce.project.payload.AddressResponse;
 import com.ecommerce.project.repositories.AddressRepository;
-import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.util.AddressNormalizer;
+import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Addresses are always read and written one row at a time through the owning user's id;
+ * the {@code Users.addresses} collection is never loaded, so large address books are not rewritten on every change.
+ */
 @Service
 public class AddressServiceImpl implements AddressService{
 
@@ -19,49 +34,82 @@ public class AddressServiceImpl implements AddressService{
     private ModelMapper modelMapper;
 
     @Autowired
-    private UserRepository userRepository;
+    private AddressRepository addressRepository;
 
     @Autowired
-    private AddressRepository addressRepository;
+    private AddressDeduplicationJob addressDeduplicationJob;
 
+    /**
+     * Returns the user's existing copy when the same address (after normalization) was saved before.
+     */
     @Override
-    public AddressDTO createAddress(AddressDTO addressDTO, Users user) {
+    public CreatedAddress createAddress(AddressDTO addressDTO, Users user) {
         Address address = modelMapper.map(addressDTO,Address.class);
-        List<Address> addressList = user.getAddresses();
-        addressList.add(address);
-        user.setAddresses(addressList);
+        address.setAddressId(null);
+        AddressNormalizer.normalize(address);
+        Optional<Address> existing = addressRepository.findByUsersUserIdAndContentHash(user.getUserId(),
+                address.getContentHash());
+        if (existing.isPresent()) {
+            return new CreatedAddress(modelMapper.map(existing.get(),AddressDTO.class), false);
+        }
+
         address.setUsers(user);
-        Address savedAddress = addressRepository.save(address);
-        return modelMapper.map(savedAddress,AddressDTO.class);
+        try {
+            Address savedAddress = addressRepository.saveAndFlush(address);
+            return new CreatedAddress(modelMapper.map(savedAddress,AddressDTO.class), true);
+        } catch (DataIntegrityViolationException e) {
+            // The same address was saved concurrently
+            Address savedAddress = addressRepository.findByUsersUserIdAndContentHash(user.getUserId(),
+                            address.getContentHash())
+                    .orElseThrow(() -> e);
+            return new CreatedAddress(modelMapper.map(savedAddress,AddressDTO.class), false);
+        }
     }
 
     @Override
-    public List<AddressDTO> getAddresses() {
-        List<Address> addresses = addressRepository.findAll();
-        return addresses.stream()
-                .map(address -> modelMapper.map(address,AddressDTO.class))
-                .toList();
+    public AddressResponse getAllAddresses(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        Page<AddressDTO> addressPage = addressRepository.findAllAsDto(pageDetails);
+
+        AddressResponse addressResponse = new AddressResponse();
+        addressResponse.setContent(addressPage.getContent());
+        addressResponse.setPageNumber(addressPage.getNumber());
+        addressResponse.setPageSize(addressPage.getSize());
+        addressResponse.setTotalElements(addressPage.getTotalElements());
+        addressResponse.setTotalPages(addressPage.getTotalPages());
+        addressResponse.setLastPage(addressPage.isLast());
+        return addressResponse;
     }
 
     @Override
-    public AddressDTO getAddressesById(Long addressId) {
-        Address address =addressRepository.findById(addressId)
-                .orElseThrow(()-> new ResourceNotFoundException("Address","addressId",addressId));
+    @Transactional
+    public void streamAddresses(Consumer<AddressDTO> consumer) {
+        try (Stream<AddressDTO> addresses = addressRepository.streamAllAsDto()) {
+            addresses.forEach(consumer);
+        }
+    }
+
+    @Override
+    public AddressDTO getAddressesById(Long addressId, Long userId) {
+        Address address = findOwnedAddress(addressId, userId);
         return modelMapper.map(address,AddressDTO.class);
     }
 
     @Override
-    public List<AddressDTO> getUserAddresses(Users user) {
-        List<Address> addresses = user.getAddresses();
+    public List<AddressDTO> getUserAddresses(Long userId) {
+        List<Address> addresses = addressRepository.findByUsersUserId(userId);
         return addresses.stream()
                 .map(address -> modelMapper.map(address,AddressDTO.class))
                 .toList();
     }
 
     @Override
-    public AddressDTO updateAddress(Long addressId, AddressDTO addressDTO) {
-        Address addressFromDb = addressRepository.findById(addressId)
-                .orElseThrow(()-> new ResourceNotFoundException("Address","addressId",addressId));
+    @Transactional
+    public AddressDTO updateAddress(Long addressId, AddressDTO addressDTO, Long userId) {
+        Address addressFromDb = findOwnedAddress(addressId, userId);
 
         addressFromDb.setBuildingName(addressDTO.getBuildingName());
         addressFromDb.setCity(addressDTO.getCity());
@@ -69,23 +117,39 @@ public class AddressServiceImpl implements AddressService{
         addressFromDb.setCountry(addressDTO.getCountry());
         addressFromDb.setPincode(addressDTO.getPincode());
         addressFromDb.setStreet(addressDTO.getStreet());
-        Address updatedAddress = addressRepository.save(addressFromDb);
-
-        Users user = addressFromDb.getUsers();
-        user.getAddresses().removeIf(address -> address.getAddressId().equals(addressId));
-        user.getAddresses().add(updatedAddress);
-        userRepository.save(user);
+        AddressNormalizer.normalize(addressFromDb);
+        addressRepository.findIdByUsersUserIdAndContentHash(userId, addressFromDb.getContentHash())
+                .filter(id -> !id.equals(addressId))
+                .ifPresent(id -> {
+                    throw new APIException("This address is already saved with addressId: " + id);
+                });
+        Address updatedAddress;
+        try {
+            updatedAddress = addressRepository.saveAndFlush(addressFromDb);
+        } catch (DataIntegrityViolationException e) {
+            // The same address was saved concurrently; the failed statement aborted the transaction,
+            // so the other copy's id cannot be looked up here
+            throw new APIException("This address is already saved");
+        }
         return modelMapper.map(updatedAddress,AddressDTO.class);
     }
 
     @Override
-    public String deleteAddress(Long addressId) {
-        Address addressFromDb = addressRepository.findById(addressId)
-                .orElseThrow(()-> new ResourceNotFoundException("Address","addressId",addressId));
-        Users user = addressFromDb.getUsers();
-        user.getAddresses().removeIf(address -> address.getAddressId().equals(addressId));
-        userRepository.save(user);
+    @Transactional
+    public String deleteAddress(Long addressId, Long userId) {
+        Address addressFromDb = findOwnedAddress(addressId, userId);
         addressRepository.delete(addressFromDb);
         return "Address deleted successfully with addressId: " + addressId;
     }
+
+    @Override
+    public void startDeduplication() {
+        addressDeduplicationJob.start();
+    }
+
+    // Another user's address is reported as missing rather than forbidden, so ids cannot be probed
+    private Address findOwnedAddress(Long addressId, Long userId) {
+        return addressRepository.findByAddressIdAndUsersUserId(addressId, userId)
+                .orElseThrow(()-> new ResourceNotFoundException("Address","addressId",addressId));
+    }
 }
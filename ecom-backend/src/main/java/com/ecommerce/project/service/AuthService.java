@@ -11,15 +11,19 @@ import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
+import java.util.List;
+
 public interface AuthService {
 
     AuthenticationResult login(LoginRequest loginRequest);
 
     ResponseEntity<MessageResponse> register(SignupRequest signUpRequest);
 
+    AuthenticationResult refresh(String refreshToken);
+
     UserInfoResponse getCurrentUserDetails(Authentication authentication);
 
-    ResponseCookie logoutUser();
+    List<ResponseCookie> logoutUser(String jwt, String refreshToken);
 
     UserResponse getAllSellers(Pageable pageable);
 }
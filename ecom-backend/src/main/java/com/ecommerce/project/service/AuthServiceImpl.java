@@ -4,11 +4,14 @@ import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.Role;
 import com.ecommerce.project.model.Users;
 import com.ecommerce.project.payload.AuthenticationResult;
+import com.ecommerce.project.payload.RefreshTokenRotation;
 import com.ecommerce.project.payload.UserDTO;
 import com.ecommerce.project.payload.UserResponse;
 import com.ecommerce.project.repositories.RoleRepository;
 import com.ecommerce.project.repositories.UserRepository;
 import com.ecommerce.project.security.jwt.JwtUtils;
+import com.ecommerce.project.security.jwt.TokenRevocationList;
+import com.ecommerce.project.security.password.PasswordVerificationExecutor;
 import com.ecommerce.project.security.request.LoginRequest;
 import com.ecommerce.project.security.request.SignupRequest;
 import com.ecommerce.project.security.response.MessageResponse;
@@ -22,6 +25,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -56,16 +60,46 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    private PasswordVerificationExecutor passwordVerificationExecutor;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    // Don't hold a pooled connection while waiting for the verification pool
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public AuthenticationResult login(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        UsernamePasswordAuthenticationToken token =
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword());
+        Authentication authentication = passwordVerificationExecutor.verify(() -> authenticationManager.authenticate(token));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserDetailImpl userDetails = (UserDetailImpl) authentication.getPrincipal();
 
+        String refreshToken = refreshTokenService.issue(userDetails.getId());
+        return authenticationResult(userDetails, refreshToken);
+    }
+
+    // Renewal is one indexed lookup of the hashed token; no password verification involved.
+    // Runs outside a transaction so a family revoked on token reuse is not rolled back with the failed renewal.
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public AuthenticationResult refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token is missing");
+        }
+        RefreshTokenRotation rotation = refreshTokenService.rotate(refreshToken);
+        return authenticationResult(UserDetailImpl.build(rotation.getUser()), rotation.getRefreshToken());
+    }
+
+    private AuthenticationResult authenticationResult(UserDetailImpl userDetails, String refreshToken) {
         ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
+        ResponseCookie refreshCookie = jwtUtils.generateRefreshCookie(refreshToken);
 
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(item -> item.getAuthority())
@@ -74,7 +108,7 @@ public class AuthServiceImpl implements AuthService {
         UserInfoResponse response = new UserInfoResponse(userDetails.getId(),
                 userDetails.getUsername(), roles, userDetails.getEmail(), jwtCookie.toString());
 
-        return new AuthenticationResult(response, jwtCookie);
+        return new AuthenticationResult(response, jwtCookie, refreshCookie);
     }
 
     @Override
@@ -142,8 +176,14 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public ResponseCookie logoutUser() {
-        return jwtUtils.getCleanJwtCookie();
+    public List<ResponseCookie> logoutUser(String jwt, String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            tokenRevocationList.revoke(jwtUtils.getTokenIdFromJwtToken(jwt), jwtUtils.getExpirationFromJwtToken(jwt));
+        }
+        return List.of(jwtUtils.getCleanJwtCookie(), jwtUtils.getCleanRefreshCookie());
     }
 
     @Override
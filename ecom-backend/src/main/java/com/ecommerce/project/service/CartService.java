@@ -5,6 +5,7 @@ import com.ecommerce.project.payload.CartItemDTO;
 import jakarta.transaction.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface CartService {
@@ -12,7 +13,10 @@ public interface CartService {
      CartDTO addProductToCart(Long productId, Integer quantity);
 
 
-     List<CartDTO> getAllCarts();
+     /**
+      * Passes every cart to {@code consumer} while reading them from a database cursor.
+      */
+     void streamAllCarts(Consumer<CartDTO> consumer);
 
      CartDTO getCart(String emailId, Long cartId);
 
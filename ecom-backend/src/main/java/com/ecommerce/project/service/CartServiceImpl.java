@@ -17,8 +17,10 @@ import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 @Service
@@ -91,28 +93,28 @@ public class CartServiceImpl implements  CartService{
     }
 
     @Override
-    public List<CartDTO> getAllCarts() {
-        List<Cart> carts = cartRepository.findAll();
-        if(carts.size() == 0){
-            throw new APIException("No cart exists");
+    @Transactional
+    public void streamAllCarts(Consumer<CartDTO> consumer) {
+        try (Stream<Object[]> rows = cartRepository.streamAllWithItems()) {
+            CartDTO current = null;
+            for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); ) {
+                Object[] row = iterator.next();
+                Long cartId = (Long) row[0];
+                if (current == null || !current.getCartId().equals(cartId)) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = new CartDTO(cartId, (Double) row[1], new ArrayList<>());
+                }
+                if (row[3] != null) {
+                    current.getProducts().add(new ProductDTO((Long) row[3], (String) row[4], (String) row[5],
+                            (String) row[6], (Integer) row[2], (Double) row[7], (Double) row[8], (Double) row[9]));
+                }
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
         }
-        List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-            List<ProductDTO> products = cart.getCartItems().stream().map(cartItem -> {
-                ProductDTO productDTO = modelMapper.map(cartItem.getProduct(), ProductDTO.class);
-                productDTO.setQuantity(cartItem.getQuantity()); // Set the quantity from CartItem
-                return productDTO;
-            }).collect(Collectors.toList());
-
-
-            cartDTO.setProducts(products);
-
-            return cartDTO;
-
-        }).collect(Collectors.toList());
-
-        return cartDTOs;
     }
 
     @Override
@@ -0,0 +1,80 @@
+package com.ecommerce.project.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cluster-wide version of the public catalog (products and categories), kept in Redis and bumped whenever
+ * a product or category mutation commits. Public catalog responses use it as their ETag, and every bump clears
+ * the cached product pages first.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersion.class);
+
+    private static final String VERSION_KEY = "catalog:version";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Returns the current version, or {@code null} when Redis is unavailable and no version can be vouched for.
+     */
+    public String current() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            return version == null ? "0" : version;
+        } catch (DataAccessException e) {
+            logger.warn("Catalog version unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Clears the cached product pages and bumps the version. Inside a transaction this is deferred until commit,
+     * so a client revalidating in between cannot store the pre-commit state under the new version. The pages go
+     * first: a request in between reloads committed data under the old version, never a stale page under the new.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clearProductPages();
+                    increment();
+                }
+            });
+        } else {
+            clearProductPages();
+            increment();
+        }
+    }
+
+    private void clearProductPages() {
+        Cache productPages = cacheManager.getCache("products_v2");
+        if (productPages != null) {
+            productPages.clear();
+        }
+    }
+
+    private void increment() {
+        try {
+            stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (DataAccessException e) {
+            // Clients may revalidate against the old version until max-age passes; nothing else to do
+            logger.warn("Could not bump catalog version: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of all categories together with their active product counts.
+ * The snapshot is loaded lazily and dropped whenever a category or product mutation commits,
+ * so storefront reads never hit the database between mutations.
+ */
+@Component
+public class CategoryCache {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns all categories ordered by id. The returned DTOs are shared and must be treated as read-only.
+     */
+    public List<CategoryDTO> getCategories() {
+        return current().categories();
+    }
+
+    /**
+     * Resolves a category name to its id, or {@code null} when no such category exists.
+     */
+    public Long findCategoryId(String categoryName) {
+        return current().idsByName().get(categoryName);
+    }
+
+    /**
+     * Returns the cached category with the given id, or {@code null} when no such category exists.
+     */
+    public CategoryDTO findCategory(Long categoryId) {
+        return current().categoriesById().get(categoryId);
+    }
+
+    /**
+     * Drops the current snapshot. Inside a transaction this is deferred until commit,
+     * so a concurrent reload cannot pick up the pre-commit state.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current == null) {
+                long loadedGeneration = generation.get();
+                current = load();
+                // Only publish if nothing was invalidated while we were loading
+                if (generation.get() == loadedGeneration) {
+                    snapshot = current;
+                }
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : productRepository.countActiveProductsByCategory()) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<Category> categories = categoryRepository.findAll(Sort.by("categoryId").ascending());
+        Map<String, Long> idsByName = new HashMap<>();
+        Map<Long, CategoryDTO> categoriesById = new HashMap<>();
+        List<CategoryDTO> categoryDTOS = categories.stream()
+                .map(category -> {
+                    CategoryDTO categoryDTO = new CategoryDTO(category.getCategoryId(), category.getCategoryName(),
+                            counts.getOrDefault(category.getCategoryId(), 0L));
+                    idsByName.put(categoryDTO.getCategoryName(), categoryDTO.getCategoryId());
+                    categoriesById.put(categoryDTO.getCategoryId(), categoryDTO);
+                    return categoryDTO;
+                })
+                .toList();
+
+        return new Snapshot(categoryDTOS, Map.copyOf(idsByName), Map.copyOf(categoriesById));
+    }
+
+    private record Snapshot(List<CategoryDTO> categories, Map<String, Long> idsByName,
+                            Map<Long, CategoryDTO> categoriesById) {
+    }
+}
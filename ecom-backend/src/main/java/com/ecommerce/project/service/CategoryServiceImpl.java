@@ -9,11 +9,12 @@ import com.ecommerce.project.repositories.CategoryRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -24,20 +25,35 @@ public class CategoryServiceImpl implements CategoryService{
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     @Override
     public CategoryResponse getAllCategories(Integer pageNumber,Integer pageSize,String sortBy,String sortOrder) {
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                ?Sort.by(sortBy).ascending()
-                :Sort.by(sortBy).descending();
-        Pageable pageDetails = PageRequest.of(pageNumber,pageSize,sortByAndOrder);
-        Page<Category> categoryPage = categoryRepository.findAll(pageDetails);
-        List<Category> categories = categoryPage.getContent();
-        if (categories.isEmpty())
+        Comparator<CategoryDTO> comparator = switch (sortBy) {
+            case "categoryId" -> Comparator.comparing(CategoryDTO::getCategoryId);
+            case "categoryName" -> Comparator.comparing(CategoryDTO::getCategoryName, String.CASE_INSENSITIVE_ORDER);
+            case "productCount" -> Comparator.comparing(CategoryDTO::getProductCount);
+            default -> throw new APIException("Categories cannot be sorted by " + sortBy);
+        };
+        if (!sortOrder.equalsIgnoreCase("asc"))
+            comparator = comparator.reversed();
+
+        List<CategoryDTO> allCategories = categoryCache.getCategories();
+        Pageable pageDetails = PageRequest.of(pageNumber,pageSize);
+        int fromIndex = (int) Math.min(pageDetails.getOffset(), allCategories.size());
+        int toIndex = Math.min(fromIndex + pageSize, allCategories.size());
+        List<CategoryDTO> categoryDTOS = allCategories.stream()
+                .sorted(comparator)
+                .toList()
+                .subList(fromIndex, toIndex);
+        if (categoryDTOS.isEmpty())
             throw new APIException("No category created till now.");
 
-        List<CategoryDTO> categoryDTOS = categories.stream()
-                .map(category -> modelMapper.map(category,CategoryDTO.class))
-                .toList();
+        Page<CategoryDTO> categoryPage = new PageImpl<>(categoryDTOS, pageDetails, allCategories.size());
 
         CategoryResponse categoryResponse = new CategoryResponse();
         categoryResponse.setContent(categoryDTOS);
@@ -58,6 +74,8 @@ public class CategoryServiceImpl implements CategoryService{
             throw new APIException("Category with the name " + category.getCategoryName() + " already Exists!");
 
         Category savedCategory = categoryRepository.save(category);
+        categoryCache.invalidate();
+        catalogVersion.bump();
         return modelMapper.map(savedCategory,CategoryDTO.class);
     }
 
@@ -67,6 +85,8 @@ public class CategoryServiceImpl implements CategoryService{
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(()-> new ResourceNotFoundException("Category","categoryId",categoryId));
        categoryRepository.delete(category);
+        categoryCache.invalidate();
+        catalogVersion.bump();
         return modelMapper.map(category,CategoryDTO.class);
     }
 
@@ -77,6 +97,8 @@ public class CategoryServiceImpl implements CategoryService{
         Category category = modelMapper.map(categoryDTO,Category.class);
         category.setCategoryId(categoryId);
         savedCategory = categoryRepository.save(category);
+        categoryCache.invalidate();
+        catalogVersion.bump();
         return modelMapper.map(savedCategory,CategoryDTO.class);
     }
 }
@@ -0,0 +1,8 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DataSourcePoolResponse;
+
+public interface DataSourceMetricsService {
+
+    DataSourcePoolResponse getPoolMetrics();
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.DataSourcePoolResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the HikariCP pool for sizing decisions: live gauges come from the pool MXBean,
+ * acquisition/usage percentiles from the Micrometer timers Hikari records into.
+ */
+@Service
+public class DataSourceMetricsServiceImpl implements DataSourceMetricsService {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public DataSourcePoolResponse getPoolMetrics() {
+        HikariDataSource hikariDataSource = hikariDataSource();
+        String poolName = hikariDataSource.getPoolName();
+
+        DataSourcePoolResponse response = new DataSourcePoolResponse();
+        response.setPoolName(poolName);
+        response.setMaximumPoolSize(hikariDataSource.getMaximumPoolSize());
+        response.setMinimumIdle(hikariDataSource.getMinimumIdle());
+
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            response.setActiveConnections(pool.getActiveConnections());
+            response.setIdleConnections(pool.getIdleConnections());
+            response.setTotalConnections(pool.getTotalConnections());
+            response.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+        }
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        if (acquire != null) {
+            HistogramSnapshot snapshot = acquire.takeSnapshot();
+            response.setConnectionAcquireCount(snapshot.count());
+            response.setAcquireMeanMs(snapshot.mean(TimeUnit.MILLISECONDS));
+            response.setAcquireMaxMs(snapshot.max(TimeUnit.MILLISECONDS));
+            response.setAcquireP50Ms(percentile(snapshot, 0.5));
+            response.setAcquireP95Ms(percentile(snapshot, 0.95));
+            response.setAcquireP99Ms(percentile(snapshot, 0.99));
+        }
+
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", poolName).timer();
+        if (usage != null) {
+            HistogramSnapshot snapshot = usage.takeSnapshot();
+            response.setUsageP95Ms(percentile(snapshot, 0.95));
+            response.setUsageP99Ms(percentile(snapshot, 0.99));
+        }
+
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", poolName).counter();
+        if (timeouts != null) {
+            response.setConnectionTimeoutCount((long) timeouts.count());
+        }
+        return response;
+    }
+
+    private HikariDataSource hikariDataSource() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new APIException("Connection pool metrics are only available for HikariCP");
+        }
+    }
+
+    private Double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay, selected with {@code events.bus} ({@code in-process} by default, or {@code redis}).
+ * Delivery is at-least-once: {@link EventConsumer}s must tolerate seeing an event again.
+ */
+public interface EventBus {
+
+    /**
+     * Publishes a batch in id order. Returning normally means the batch was durably handed over;
+     * throwing leaves the events in the outbox to be relayed again.
+     */
+    void publish(List<DomainEvent> events);
+}
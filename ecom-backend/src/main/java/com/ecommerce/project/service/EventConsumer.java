@@ -0,0 +1,17 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DomainEvent;
+
+/**
+ * Reacts to domain events off the request path. Every consumer bean receives every event,
+ * and tracks its own progress, so one failing consumer does not hold back the others' progress.
+ */
+public interface EventConsumer {
+
+    /**
+     * Stable name, used as the key of its handled events (in-process bus) or consumer group (Redis bus).
+     */
+    String getName();
+
+    void handle(DomainEvent event);
+}
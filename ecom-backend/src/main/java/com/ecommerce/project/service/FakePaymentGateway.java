@@ -0,0 +1,90 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.PaymentEvent;
+import com.ecommerce.project.payload.StripePaymentDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * In-process gateway for tests and load runs. Payments are confirmed automatically after a delay,
+ * and webhooks are signed with an HMAC-SHA256 of the raw body using {@code payment.fake.webhook-secret}.
+ */
+@Service
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "fake")
+public class FakePaymentGateway implements PaymentGateway {
+
+    @Autowired
+    private PaymentEventQueue paymentEventQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${payment.fake.webhook-secret:fake-webhook-secret}")
+    private String webhookSecret;
+
+    @Value("${payment.fake.auto-confirm:true}")
+    private boolean autoConfirm;
+
+    @Value("${payment.fake.confirm-delay-ms:200}")
+    private long confirmDelayMs;
+
+    @Override
+    public String getName() {
+        return "Fake";
+    }
+
+    @Override
+    public String createClientSecret(StripePaymentDTO stripePaymentDTO) {
+        String paymentId = "pi_fake_" + UUID.randomUUID().toString().replace("-", "");
+        if (autoConfirm) {
+            paymentEventQueue.submitAfter(
+                    new PaymentEvent("evt_" + paymentId, paymentId, "succeeded", "Payment successful", true,
+                            stripePaymentDTO.getAmount(), stripePaymentDTO.getCurrency()),
+                    Duration.ofMillis(confirmDelayMs));
+        }
+        // Same shape as a Stripe client secret, so callers can recover the payment id
+        return paymentId + "_secret_fake";
+    }
+
+    @Override
+    public String getSignatureHeader() {
+        return "Fake-Signature";
+    }
+
+    @Override
+    public PaymentEvent verifyWebhook(String payload, String signature) {
+        byte[] expected = HexFormat.of().formatHex(sign(payload)).getBytes(StandardCharsets.UTF_8);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8))) {
+            throw new APIException("Invalid webhook signature");
+        }
+        try {
+            return objectMapper.readValue(payload, PaymentEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new APIException("Invalid webhook payload");
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
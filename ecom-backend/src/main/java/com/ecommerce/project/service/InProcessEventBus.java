@@ -0,0 +1,83 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DomainEvent;
+import com.ecommerce.project.repositories.ConsumedEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delivers relayed batches synchronously to the local {@link EventConsumer}s.
+ * Every handled event is recorded per consumer and committed on its own, so when a consumer fails the batch is
+ * rolled back and relayed again, and consumers that already handled part of it skip those events instead of
+ * processing them twice. Handled events are tracked by id rather than as a high-water mark: a transaction that
+ * took a lower outbox id can commit after a higher id has been relayed, and its event must still be delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessEventBus implements EventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InProcessEventBus.class);
+
+    @Autowired(required = false)
+    private List<EventConsumer> consumers = List.of();
+
+    @Autowired
+    private ConsumedEventRepository consumedEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Published outbox rows are never relayed again, so their records can go when the rows are purged
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        RuntimeException failure = null;
+        for (EventConsumer consumer : consumers) {
+            try {
+                deliver(consumer, events);
+            } catch (RuntimeException e) {
+                // Keep delivering to the other consumers, then fail the batch so it is relayed again
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 * * * *}")
+    public void purgeHandled() {
+        Instant handledBefore = Instant.now().minus(Duration.ofHours(retentionHours));
+        Integer deleted = transactionTemplate.execute(status -> consumedEventRepository.deleteHandledBefore(handledBefore));
+        logger.info("Purged {} consumed event records", deleted);
+    }
+
+    private void deliver(EventConsumer consumer, List<DomainEvent> events) {
+        Set<Long> handled = new HashSet<>(consumedEventRepository.findHandledEventIds(consumer.getName(),
+                events.stream().map(DomainEvent::getId).toList()));
+        for (DomainEvent event : events) {
+            if (!handled.contains(event.getId())) {
+                consumer.handle(event);
+                consumedEventRepository.markHandled(consumer.getName(), event.getId());
+            }
+        }
+    }
+}
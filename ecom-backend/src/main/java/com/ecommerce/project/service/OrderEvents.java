@@ -0,0 +1,16 @@
+package com.ecommerce.project.service;
+
+/**
+ * Event types recorded in the outbox for the {@code Order} aggregate.
+ */
+public final class OrderEvents {
+
+    public static final String AGGREGATE_TYPE = "Order";
+
+    public static final String ORDER_PLACED = "OrderPlaced";
+
+    public static final String ORDER_STATUS_CHANGED = "OrderStatusChanged";
+
+    private OrderEvents() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Order analytics fed from the event bus instead of aggregate queries on the orders table.
+ */
+@Component
+public class OrderMetricsConsumer implements EventConsumer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public String getName() {
+        return "order-metrics";
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        switch (event.getEventType()) {
+            case OrderEvents.ORDER_PLACED -> {
+                meterRegistry.counter("orders.placed").increment();
+                if (event.getPayload().get("totalAmount") instanceof Number totalAmount) {
+                    meterRegistry.summary("orders.amount").record(totalAmount.doubleValue());
+                }
+            }
+            case OrderEvents.ORDER_STATUS_CHANGED -> Counter.builder("orders.status.changes")
+                    .tag("status", String.valueOf(event.getPayload().get("status")))
+                    .register(meterRegistry)
+                    .increment();
+            default -> {
+            }
+        }
+    }
+}
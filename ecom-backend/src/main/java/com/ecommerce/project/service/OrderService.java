@@ -1,10 +1,14 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.payload.BulkOrderStatusUpdateResponse;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderResponse;
+import com.ecommerce.project.payload.PaymentEvent;
+
+import java.util.List;
 
 public interface OrderService {
-    OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage);
+    OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId);
 
     OrderResponse getAllOrders(Integer pageNumber, Integer pageSize, String sortBY, String sortOrder);
 
@@ -12,5 +16,13 @@ public interface OrderService {
 
     OrderDTO updateOrder( Long orderId, String status);
 
+    BulkOrderStatusUpdateResponse updateOrders(List<Long> orderIds, String status);
+
+    OrderDTO updateSellerOrder(Long orderId, String status);
+
+    BulkOrderStatusUpdateResponse updateSellerOrders(List<Long> orderIds, String status);
+
     OrderResponse getAllSellerOrders(Integer pageNumber, Integer pageSize, String sortBY, String sortOrder);
+
+    boolean applyPaymentEvent(PaymentEvent paymentEvent);
 }
@@ -1,30 +1,46 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.model.*;
-import com.ecommerce.project.payload.OrderDTO;
-import com.ecommerce.project.payload.OrderItemDTO;
-import com.ecommerce.project.payload.OrderResponse;
+import com.ecommerce.project.payload.*;
 import com.ecommerce.project.repositories.*;
 import com.ecommerce.project.util.AuthUtil;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService{
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
+
+    private static final String PG_STATUS_SUCCEEDED = "succeeded";
+
+    // A payment that failed may still succeed on a later attempt against the same intent
+    private static final Set<OrderStatus> AWAITING_PAYMENT = EnumSet.of(OrderStatus.PAYMENT_PENDING, OrderStatus.PAYMENT_FAILED);
+
     @Autowired
     private CartRepository cartRepository;
 
@@ -52,26 +68,51 @@ public class OrderServiceImpl implements OrderService{
     @Autowired
     private AuthUtil authUtil;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private ProductFacetIndexer productFacetIndexer;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${payment.currency:usd}")
+    private String paymentCurrency;
+
 
     @Override
     @Transactional
-    public OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage) {
+    public OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId) {
        Cart cart = cartRepository.findCartByEmail(emailId);
        if(cart == null){
            throw new ResourceNotFoundException("Cart","email",emailId);
        }
 
-       Address address = addressRepository.findById(addressId)
+       // Only the customer's own addresses can be shipped to
+       Address address = addressRepository.findByAddressIdAndUsersEmail(addressId, emailId)
                 .orElseThrow(()->new ResourceNotFoundException("Address","addressId",addressId));
 
+        // Every order is paid through the gateway and stays pending until its webhook confirms the payment;
+        // the status and message the client sends are never trusted
+        if(pgPaymentId == null || pgPaymentId.isBlank()){
+            throw new APIException("A payment id from the payment gateway is required");
+        }
+        if(paymentRepository.existsByPgPaymentId(pgPaymentId)){
+            throw new APIException("Payment " + pgPaymentId + " has already been used for an order");
+        }
+
         Order order = new Order();
         order.setEmail(emailId);
         order.setOrderDate(LocalDate.now());
         order.setTotalAmount(cart.getTotalPrice());
-        order.setOrderStatus("Order Accepted !");
+        order.setOrderStatus(OrderStatus.PAYMENT_PENDING);
         order.setAddress(address);
 
-        Payment payment = new Payment(paymentMethod,pgPaymentId,pgStatus,pgResponseMessage,pgName);
+        Payment payment = new Payment(paymentMethod,pgPaymentId,"pending","Awaiting payment confirmation",pgName);
         payment.setOrder(order);
         payment = paymentRepository.save(payment);
         order.setPayment(payment);
@@ -94,20 +135,39 @@ public class OrderServiceImpl implements OrderService{
         }
 
        orderItems = orderItemRepository.saveAll(orderItems);
-        cart.getCartItems().forEach(item ->{
+        boolean soldOut = false;
+        for (CartItem item : new ArrayList<>(cart.getCartItems())) {
             int quantity = item.getQuantity();
             Product product = item.getProduct();
             product.setQuantity(product.getQuantity()-quantity);
             productRepository.save(product);
+            productFacetIndexer.productChanged(product);
+            soldOut |= product.getQuantity() <= 0;
 
             cartService.deleteProductFromCart(cart.getCartId(),item.getProduct().getProductId());
-        });
+        }
+        // Cached catalog pages show quantities as of caching, which every order would otherwise invalidate;
+        // only a product running out changes what the storefront can sell
+        if(soldOut){
+            catalogVersion.bump();
+        }
+        cart.setCheckoutVersion(cart.getCheckoutVersion() + 1);
+        cartRepository.save(cart);
 
        OrderDTO orderDTO = modelMapper.map(savedOrder,OrderDTO.class);
        orderItems.forEach(item ->
                orderDTO.getOrderItems().add(
                modelMapper.map(item, OrderItemDTO.class)));
+       orderDTO.setOrderId(savedOrder.getId());
        orderDTO.setAddressId(addressId);
+       orderDTO.setAddress(modelMapper.map(address, AddressDTO.class));
+
+       // Order history reads this snapshot, so later product or address edits do not rewrite past orders
+       orderSummaryRepository.save(new OrderSummary(savedOrder.getId(), emailId, savedOrder.getOrderDate(),
+               savedOrder.getTotalAmount(), savedOrder.getOrderStatus(), orderDTO, Instant.now()));
+
+       outboxService.record(OrderEvents.AGGREGATE_TYPE, savedOrder.getId(), OrderEvents.ORDER_PLACED,
+               orderPlacedPayload(savedOrder, orderItems));
        return orderDTO;
     }
 
@@ -139,15 +199,212 @@ public class OrderServiceImpl implements OrderService{
     }
 
     @Override
+    @Transactional
     public OrderDTO updateOrder( Long orderId, String status) {
+        return updateOrder(orderId, status, null);
+    }
+
+    @Override
+    @Transactional
+    public OrderDTO updateSellerOrder(Long orderId, String status) {
+        return updateOrder(orderId, status, authUtil.loggedInUser().getUserId());
+    }
+
+    @Override
+    @Transactional
+    public BulkOrderStatusUpdateResponse updateOrders(List<Long> orderIds, String status) {
+        return updateOrders(orderIds, status, null);
+    }
+
+    @Override
+    @Transactional
+    public BulkOrderStatusUpdateResponse updateSellerOrders(List<Long> orderIds, String status) {
+        return updateOrders(orderIds, status, authUtil.loggedInUser().getUserId());
+    }
+
+    // A seller only sees, and may only update, orders containing one of their products
+    private OrderDTO updateOrder(Long orderId, String status, Long sellerId) {
+        OrderStatus target = parseStatus(status);
         Order order = orderRepository.findById(orderId)
+                        .filter(found -> sellerId == null || !orderItemRepository
+                                .findOrderIdsWithSellerProducts(List.of(orderId), sellerId).isEmpty())
                         .orElseThrow(() -> new ResourceNotFoundException("Order","orderId", orderId));
-        order.setOrderStatus(status);
-        orderRepository.save(order);
+        OrderStatus previousStatus = order.getOrderStatus();
+        if(previousStatus != target){
+            if(!previousStatus.canTransitionTo(target)){
+                throw new APIException("Order " + orderId + " cannot move from " + previousStatus + " to " + target);
+            }
+            order.setOrderStatus(target);
+            orderRepository.save(order);
+            orderSummaryRepository.updateStatus(List.of(order.getId()), target, Instant.now());
+            recordStatusChange(order.getId(), order.getEmail(), previousStatus, target);
+        }
 
         return modelMapper.map(order,OrderDTO.class);
     }
 
+    private BulkOrderStatusUpdateResponse updateOrders(List<Long> orderIds, String status, Long sellerId) {
+        OrderStatus target = parseStatus(status);
+        if(orderIds == null || orderIds.isEmpty()){
+            throw new APIException("No order ids given");
+        }
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        if(ids.size() > AppConstants.MAX_BULK_ORDER_IDS){
+            throw new APIException("At most " + AppConstants.MAX_BULK_ORDER_IDS + " orders can be updated at once");
+        }
+
+        Map<Long, Object[]> before = new HashMap<>();
+        for (Object[] row : orderRepository.findStatusesByIdIn(ids)) {
+            before.put((Long) row[0], row);
+        }
+        if(sellerId != null && !before.isEmpty()){
+            before.keySet().retainAll(orderItemRepository.findOrderIdsWithSellerProducts(
+                    new ArrayList<>(before.keySet()), sellerId));
+        }
+
+        Set<OrderStatus> sources = OrderStatus.sourcesOf(target);
+        List<Long> candidates = ids.stream()
+                .filter(id -> before.containsKey(id) && sources.contains((OrderStatus) before.get(id)[1]))
+                .toList();
+
+        int updatedRows = candidates.isEmpty() ? 0 : orderRepository.transitionStatus(candidates, sources, target);
+
+        // Re-read only when a concurrent change made the guarded update skip some candidates
+        Map<Long, OrderStatus> after = new HashMap<>();
+        if(updatedRows < candidates.size()){
+            for (Object[] row : orderRepository.findStatusesByIdIn(candidates)) {
+                after.put((Long) row[0], (OrderStatus) row[1]);
+            }
+        }
+
+        Set<Long> candidateIds = new LinkedHashSet<>(candidates);
+        List<OrderStatusUpdateResult> results = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (Long id : ids) {
+            Object[] row = before.get(id);
+            if(row == null){
+                results.add(new OrderStatusUpdateResult(id, OrderStatusUpdateOutcome.NOT_FOUND, null, null));
+                continue;
+            }
+            OrderStatus previousStatus = (OrderStatus) row[1];
+            OrderStatusUpdateOutcome outcome;
+            OrderStatus currentStatus;
+            if(!candidateIds.contains(id)){
+                outcome = previousStatus == target ? OrderStatusUpdateOutcome.UNCHANGED : OrderStatusUpdateOutcome.REJECTED;
+                currentStatus = previousStatus;
+            }else{
+                currentStatus = after.getOrDefault(id, target);
+                outcome = currentStatus == target ? OrderStatusUpdateOutcome.UPDATED : OrderStatusUpdateOutcome.CONFLICT;
+            }
+            if(outcome == OrderStatusUpdateOutcome.UPDATED){
+                updatedIds.add(id);
+                recordStatusChange(id, (String) row[2], previousStatus, target);
+            }
+            results.add(new OrderStatusUpdateResult(id, outcome, previousStatus.getLabel(), currentStatus.getLabel()));
+        }
+        if(!updatedIds.isEmpty()){
+            orderSummaryRepository.updateStatus(updatedIds, target, Instant.now());
+        }
+        return new BulkOrderStatusUpdateResponse(target.getLabel(), updatedIds.size(), results);
+    }
+
+    @Override
+    @Transactional
+    public boolean applyPaymentEvent(PaymentEvent paymentEvent) {
+        Payment payment = paymentRepository.findByPgPaymentId(paymentEvent.getPgPaymentId()).orElse(null);
+        if(payment == null){
+            return false;
+        }
+
+        // Payments only move forward: a confirmed payment is final, and a failure arriving late or out of order
+        // leaves an order that is no longer waiting for its payment alone
+        Order order = payment.getOrder();
+        boolean awaitingPayment = order != null && AWAITING_PAYMENT.contains(order.getOrderStatus());
+        if(PG_STATUS_SUCCEEDED.equals(payment.getPgStatus())
+                || (!paymentEvent.isSucceeded() && order != null && !awaitingPayment)){
+            return true;
+        }
+
+        // The client chooses the intent's amount, so it must match what the order actually costs
+        String mismatch = paymentEvent.isSucceeded() && order != null ? amountMismatch(paymentEvent, order) : null;
+        if(mismatch != null){
+            logger.warn("Payment {} does not pay for order {}: {}", payment.getPgPaymentId(), order.getId(), mismatch);
+        }
+        payment.setPgStatus(paymentEvent.getPgStatus());
+        payment.setPgResponseMessage(mismatch != null ? mismatch : paymentEvent.getPgResponseMessage());
+        paymentRepository.save(payment);
+
+        if(order == null){
+            return true;
+        }
+        if(awaitingPayment){
+            OrderStatus previousStatus = order.getOrderStatus();
+            OrderStatus target = paymentEvent.isSucceeded() && mismatch == null
+                    ? OrderStatus.ACCEPTED
+                    : OrderStatus.PAYMENT_FAILED;
+            if(previousStatus != target){
+                order.setOrderStatus(target);
+                orderRepository.save(order);
+                recordStatusChange(order.getId(), order.getEmail(), previousStatus, target);
+            }
+        }
+        orderSummaryRepository.findById(order.getId()).ifPresent(summary -> {
+            summary.setOrderStatus(order.getOrderStatus());
+            if(summary.getDocument().getPayment() != null){
+                summary.getDocument().getPayment().setPgStatus(paymentEvent.getPgStatus());
+            }
+            summary.setUpdatedAt(Instant.now());
+            orderSummaryRepository.save(summary);
+        });
+        return true;
+    }
+
+    private String amountMismatch(PaymentEvent paymentEvent, Order order) {
+        long expected = Math.round(order.getTotalAmount() * 100);
+        Long amount = paymentEvent.getAmount();
+        if(amount != null && amount == expected && paymentCurrency.equalsIgnoreCase(paymentEvent.getCurrency())){
+            return null;
+        }
+        return "Paid " + amount + " " + paymentEvent.getCurrency() + " but the order total is " + expected + " "
+                + paymentCurrency + " (minor units)";
+    }
+
+    private OrderStatus parseStatus(String status) {
+        OrderStatus orderStatus = OrderStatus.fromLabel(status);
+        if(orderStatus == null){
+            throw new APIException("Unknown order status: " + status);
+        }
+        return orderStatus;
+    }
+
+    private void recordStatusChange(Long orderId, String email, OrderStatus previousStatus, OrderStatus status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", orderId);
+        payload.put("email", email);
+        payload.put("previousStatus", previousStatus.getLabel());
+        payload.put("status", status.getLabel());
+        outboxService.record(OrderEvents.AGGREGATE_TYPE, orderId, OrderEvents.ORDER_STATUS_CHANGED, payload);
+    }
+
+    private Map<String, Object> orderPlacedPayload(Order order, List<OrderItem> orderItems) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (OrderItem orderItem : orderItems) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("productId", orderItem.getProduct().getProductId());
+            item.put("quantity", orderItem.getQuantity());
+            item.put("orderedProductPrice", orderItem.getOrderedProductPrice());
+            items.add(item);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("email", order.getEmail());
+        payload.put("totalAmount", order.getTotalAmount());
+        payload.put("status", order.getOrderStatus().getLabel());
+        payload.put("addressId", order.getAddress().getAddressId());
+        payload.put("items", items);
+        return payload;
+    }
+
     @Override
     public OrderResponse getAllSellerOrders(Integer pageNumber, Integer pageSize, String sortBY, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
@@ -190,30 +447,45 @@ public class OrderServiceImpl implements OrderService{
 
     @Override
     public OrderResponse getUserOrders(Integer pageNumber, Integer pageSize, String sortBY, String sortOrder) {
+        String sortProperty = orderHistorySortProperty(sortBY);
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                ? Sort.by(sortBY).ascending()
-                : Sort.by(sortBY).descending();
+                ? Sort.by(sortProperty).ascending()
+                : Sort.by(sortProperty).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber,pageSize,sortByAndOrder);
 
         String email = authUtil.loggedInEmail();
 
-        Page<Order> pageOrders = orderRepository.findByEmail(email, pageDetails);
-
-        List<Order> orders = pageOrders.getContent();
+        Page<OrderSummary> pageSummaries = orderSummaryRepository.findByEmail(email, pageDetails);
 
-        List<OrderDTO> orderDTOS = orders.stream()
-                .map(order -> modelMapper.map(order,OrderDTO.class))
+        List<OrderDTO> orderDTOS = pageSummaries.getContent().stream()
+                .map(this::toOrderDTO)
                 .toList();
 
         OrderResponse orderResponse = new OrderResponse();
         orderResponse.setContent(orderDTOS);
-        orderResponse.setPageNumber(pageOrders.getNumber());
-        orderResponse.setPageSize(pageOrders.getSize());
-        orderResponse.setTotalElements(pageOrders.getTotalElements());
-        orderResponse.setTotalPages(pageOrders.getTotalPages());
-        orderResponse.setLastPage(pageOrders.isLast());
+        orderResponse.setPageNumber(pageSummaries.getNumber());
+        orderResponse.setPageSize(pageSummaries.getSize());
+        orderResponse.setTotalElements(pageSummaries.getTotalElements());
+        orderResponse.setTotalPages(pageSummaries.getTotalPages());
+        orderResponse.setLastPage(pageSummaries.isLast());
 
         return orderResponse;
     }
+
+    private String orderHistorySortProperty(String sortBY) {
+        return switch (sortBY) {
+            case "totalAmount", "orderDate", "orderId", "orderStatus" -> sortBY;
+            case "id" -> "orderId";
+            default -> throw new APIException("Orders cannot be sorted by " + sortBY);
+        };
+    }
+
+    private OrderDTO toOrderDTO(OrderSummary summary) {
+        OrderDTO document = summary.getDocument();
+        // The status column is kept current; the document's copy is as of placement
+        return new OrderDTO(summary.getOrderId(), document.getEmail(), document.getOrderItems(),
+                summary.getOrderDate(), document.getPayment(), summary.getTotalAmount(),
+                summary.getOrderStatus().getLabel(), document.getAddressId(), document.getAddress());
+    }
 }
@@ -0,0 +1,81 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.payload.DomainEvent;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains committed outbox rows to the {@link EventBus} in id order. A batch is marked published in the same
+ * transaction that locked it, so a crash or a failed publish leaves it to be relayed again (at-least-once).
+ * Rows younger than the visibility delay are left alone, so a transaction that took a lower id but commits
+ * a moment later is not overtaken.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.visibility-delay-ms:1000}")
+    private long visibilityDelayMs;
+
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay failed, the batch will be retried", e);
+        }
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 * * * *}")
+    public void purgePublished() {
+        Instant publishedBefore = Instant.now().minus(Duration.ofHours(retentionHours));
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(publishedBefore));
+        logger.info("Purged {} published outbox events", deleted);
+    }
+
+    private int relayBatch() {
+        Instant visibleBefore = Instant.now().minusMillis(visibilityDelayMs);
+        List<OutboxEvent> batch = outboxEventRepository.lockUnpublishedBatch(visibleBefore, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        eventBus.publish(batch.stream().map(this::toDomainEvent).toList());
+        outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), Instant.now());
+        return batch.size();
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent outboxEvent) {
+        return new DomainEvent(outboxEvent.getId(), outboxEvent.getAggregateType(), outboxEvent.getAggregateId(),
+                outboxEvent.getEventType(), outboxEvent.getPayload(), outboxEvent.getCreatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.project.service;
+
+import java.util.Map;
+
+public interface OutboxService {
+
+    /**
+     * Records a domain event in the caller's transaction. It is published by {@link OutboxRelay} only after commit.
+     */
+    void record(String aggregateType, Object aggregateId, String eventType, Map<String, Object> payload);
+}
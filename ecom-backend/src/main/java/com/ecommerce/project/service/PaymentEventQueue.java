@@ -0,0 +1,150 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.InboundPaymentEvent;
+import com.ecommerce.project.payload.PaymentEvent;
+import com.ecommerce.project.repositories.InboundPaymentEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Durable queue of verified payment confirmations, backed by the {@code inbound_payment_events} table.
+ * An event is stored before the gateway's webhook is acknowledged, and applied by a poller that moves the matching
+ * {@link com.ecommerce.project.model.Payment} and order out of the pending state in the same transaction that
+ * marks the event processed. Gateways often deliver the confirmation before the frontend has placed the order,
+ * so events whose payment does not exist yet are retried with exponential backoff. An event still not applied after
+ * {@code payment.events.max-attempts} is parked (counted by {@code payment.events.dead}) and purged with the
+ * processed ones after {@code payment.events.retention-hours}.
+ */
+@Component
+public class PaymentEventQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentEventQueue.class);
+
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final InboundPaymentEventRepository inboundPaymentEventRepository;
+
+    private final OrderService orderService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final long retryDelayMs;
+
+    private final long retentionHours;
+
+    public PaymentEventQueue(InboundPaymentEventRepository inboundPaymentEventRepository,
+                             OrderService orderService,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${payment.events.batch-size:100}") int batchSize,
+                             @Value("${payment.events.max-attempts:12}") int maxAttempts,
+                             @Value("${payment.events.retry-delay-ms:1000}") long retryDelayMs,
+                             @Value("${payment.events.retention-hours:72}") long retentionHours) {
+        this.inboundPaymentEventRepository = inboundPaymentEventRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+        this.retentionHours = retentionHours;
+        Gauge.builder("payment.events.queued", inboundPaymentEventRepository,
+                        InboundPaymentEventRepository::countUnprocessed)
+                .description("Payment confirmations waiting to be applied")
+                .register(meterRegistry);
+        Gauge.builder("payment.events.dead", inboundPaymentEventRepository,
+                        InboundPaymentEventRepository::countDead)
+                .description("Payment confirmations given up on after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores the event for processing. A redelivered event is stored only once.
+     * Throws if the event could not be stored, in which case the gateway must not be acknowledged.
+     */
+    public void submit(PaymentEvent event) {
+        submitAfter(event, Duration.ZERO);
+    }
+
+    /**
+     * Stores the event to be processed once the delay has passed.
+     */
+    public void submitAfter(PaymentEvent event, Duration delay) {
+        Instant now = Instant.now();
+        inboundPaymentEventRepository.insertIfAbsent(event.getEventId(), event.getPgPaymentId(), event.getPgStatus(),
+                event.getPgResponseMessage(), event.isSucceeded(), event.getAmount(), event.getCurrency(),
+                now, now.plus(delay));
+    }
+
+    @Scheduled(fixedDelayString = "${payment.events.poll-interval-ms:500}")
+    public void processDue() {
+        for (int processed = 0; processed < batchSize; processed++) {
+            AtomicReference<InboundPaymentEvent> current = new AtomicReference<>();
+            try {
+                Boolean found = transactionTemplate.execute(status -> processNext(current));
+                if (!Boolean.TRUE.equals(found)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                InboundPaymentEvent failed = current.get();
+                if (failed == null) {
+                    logger.warn("Failed to poll payment events", e);
+                    return;
+                }
+                logger.warn("Failed to apply payment event {} for {}", failed.getEventId(), failed.getPgPaymentId(), e);
+                // The failed transaction rolled back, so the attempt is recorded on its own
+                transactionTemplate.executeWithoutResult(status -> reschedule(failed));
+            }
+        }
+    }
+
+    @Scheduled(cron = "${payment.events.cleanup-cron:0 30 * * * *}")
+    public void purgeProcessed() {
+        Instant processedBefore = Instant.now().minus(Duration.ofHours(retentionHours));
+        Integer deleted = transactionTemplate.execute(status ->
+                inboundPaymentEventRepository.deleteProcessedBefore(processedBefore)
+                        + inboundPaymentEventRepository.deleteDeadBefore(processedBefore));
+        logger.info("Purged {} processed and parked payment events", deleted);
+    }
+
+    private boolean processNext(AtomicReference<InboundPaymentEvent> current) {
+        InboundPaymentEvent inbound = inboundPaymentEventRepository.lockNextDue(Instant.now()).orElse(null);
+        if (inbound == null) {
+            return false;
+        }
+        current.set(inbound);
+        if (orderService.applyPaymentEvent(inbound.toPaymentEvent())) {
+            inbound.setAttempts(inbound.getAttempts() + 1);
+            inbound.setProcessedAt(Instant.now());
+            inboundPaymentEventRepository.save(inbound);
+        } else {
+            reschedule(inbound);
+        }
+        return true;
+    }
+
+    private void reschedule(InboundPaymentEvent inbound) {
+        int attempts = inbound.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            logger.error("Payment event {} for {} not applied after {} attempts, parking it",
+                    inbound.getEventId(), inbound.getPgPaymentId(), attempts);
+            inboundPaymentEventRepository.markDead(inbound.getId(), attempts, Instant.now());
+            return;
+        }
+        long delay = Math.min(retryDelayMs << (attempts - 1), MAX_RETRY_DELAY_MS);
+        inboundPaymentEventRepository.reschedule(inbound.getId(), attempts, Instant.now().plusMillis(delay));
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.PaymentEvent;
+import com.ecommerce.project.payload.StripePaymentDTO;
+
+/**
+ * Payment provider used by checkout. The implementation is selected with {@code payment.gateway}
+ * ({@code stripe} by default, {@code fake} for tests and load runs).
+ */
+public interface PaymentGateway {
+
+    String getName();
+
+    /**
+     * Creates a payment for the checkout and returns the client secret the frontend confirms it with.
+     */
+    String createClientSecret(StripePaymentDTO stripePaymentDTO);
+
+    /**
+     * Name of the request header carrying the webhook signature.
+     */
+    String getSignatureHeader();
+
+    /**
+     * Verifies the webhook signature and extracts the payment confirmation it carries.
+     * Returns {@code null} for event types that do not affect a payment.
+     */
+    PaymentEvent verifyWebhook(String payload, String signature);
+}
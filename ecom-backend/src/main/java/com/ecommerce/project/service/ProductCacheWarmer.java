@@ -0,0 +1,263 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.util.FrequencySketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the storefront's most requested product pages in the {@code products_v2} cache. Served listing
+ * queries are counted in a {@link FrequencySketch}; the top queries are published to Redis so a freshly
+ * started instance knows what to warm. Warming runs at startup and shortly after a product mutation has
+ * cleared the cache, through {@link ProductService#getAllProducts} on a small fixed pool so it never takes
+ * more than {@code concurrency} database connections.
+ */
+@Component
+public class ProductCacheWarmer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheWarmer.class);
+
+    private static final String HOT_QUERIES_KEY = "cache:warm:products_v2";
+
+    private static final Duration HOT_QUERIES_TTL = Duration.ofDays(1);
+
+    private static final String NULL_FIELD = "~";
+
+    private final ProductService productService;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final FrequencySketch<PageQuery> sketch = new FrequencySketch<>(4096, 256);
+
+    private final boolean enabled;
+
+    private final int topK;
+
+    private final int concurrency;
+
+    private final long delayMs;
+
+    private final AtomicBoolean warmPending = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    private ExecutorService loaders;
+
+    private volatile boolean running;
+
+    public ProductCacheWarmer(@Lazy ProductService productService,
+                              StringRedisTemplate stringRedisTemplate,
+                              @Value("${cache.products.warm.enabled:true}") boolean enabled,
+                              @Value("${cache.products.warm.top-k:50}") int topK,
+                              @Value("${cache.products.warm.concurrency:2}") int concurrency,
+                              @Value("${cache.products.warm.delay-ms:2000}") long delayMs) {
+        this.productService = productService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.concurrency = concurrency;
+        this.delayMs = delayMs;
+    }
+
+    /**
+     * Counts a served storefront listing query.
+     */
+    public void record(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder,
+                       String keyword, String category) {
+        if (enabled) {
+            sketch.add(new PageQuery(pageNumber, pageSize, sortBy, sortOrder, keyword, category));
+        }
+    }
+
+    /**
+     * Re-populates the hottest pages after the cache has been cleared. Inside a transaction this is deferred
+     * until commit, so the pages are not rebuilt from the pre-commit state; repeated calls are coalesced.
+     */
+    public void warmAfterEviction() {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleWarm(delayMs);
+                }
+            });
+        } else {
+            scheduleWarm(delayMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.products.warm.publish-interval-ms:60000}")
+    public void publishHotQueries() {
+        if (!enabled) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (PageQuery query : sketch.top(topK)) {
+            tuples.add(new DefaultTypedTuple<>(query.encode(), (double) sketch.estimate(query)));
+        }
+        if (tuples.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForZSet().add(HOT_QUERIES_KEY, tuples);
+            // Keep the set bounded when instances disagree on what is hot
+            stringRedisTemplate.opsForZSet().removeRange(HOT_QUERIES_KEY, 0, -(topK * 4L) - 1);
+            stringRedisTemplate.expire(HOT_QUERIES_KEY, HOT_QUERIES_TTL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not publish hot product queries: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-cache-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loaders = Executors.newFixedThreadPool(Math.max(concurrency, 1), runnable -> {
+            Thread thread = new Thread(runnable, "product-cache-warmer-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        if (enabled) {
+            scheduleWarm(0);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (loaders != null) {
+            loaders.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void scheduleWarm(long delay) {
+        if (!running || !warmPending.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            warmPending.set(false);
+            warm();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void warm() {
+        List<PageQuery> queries = hotQueries();
+        List<Callable<Void>> loads = new ArrayList<>(queries.size());
+        for (PageQuery query : queries) {
+            loads.add(() -> {
+                try {
+                    productService.getAllProducts(query.pageNumber(), query.pageSize(), query.sortBy(),
+                            query.sortOrder(), query.keyword(), query.category());
+                } catch (RuntimeException e) {
+                    logger.debug("Skipping product page {} while warming: {}", query, e.getMessage());
+                }
+                return null;
+            });
+        }
+        long start = System.nanoTime();
+        try {
+            loaders.invokeAll(loads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        logger.info("Warmed {} product pages in {} ms", queries.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<PageQuery> hotQueries() {
+        Set<PageQuery> queries = new LinkedHashSet<>();
+        queries.add(new PageQuery(Integer.valueOf(AppConstants.PAGE_NUMBER), Integer.valueOf(AppConstants.PAGE_SIZE),
+                AppConstants.SORT_PRODUCTS_BY, AppConstants.SORT_DIR, null, null));
+        queries.addAll(sketch.top(topK));
+        try {
+            Set<String> published = stringRedisTemplate.opsForZSet().reverseRange(HOT_QUERIES_KEY, 0, topK - 1);
+            if (published != null) {
+                for (String encoded : published) {
+                    PageQuery query = PageQuery.decode(encoded);
+                    if (query != null) {
+                        queries.add(query);
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not read hot product queries: {}", e.getMessage());
+        }
+        return queries.stream().limit(topK).toList();
+    }
+
+    private record PageQuery(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder,
+                             String keyword, String category) {
+
+        String encode() {
+            return String.join("|", encodeField(pageNumber), encodeField(pageSize), encodeField(sortBy),
+                    encodeField(sortOrder), encodeField(keyword), encodeField(category));
+        }
+
+        static PageQuery decode(String encoded) {
+            String[] fields = encoded.split("\\|", -1);
+            if (fields.length != 6) {
+                return null;
+            }
+            try {
+                String pageNumber = decodeField(fields[0]);
+                String pageSize = decodeField(fields[1]);
+                return new PageQuery(pageNumber == null ? null : Integer.valueOf(pageNumber),
+                        pageSize == null ? null : Integer.valueOf(pageSize), decodeField(fields[2]),
+                        decodeField(fields[3]), decodeField(fields[4]), decodeField(fields[5]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static String encodeField(Object value) {
+            return value == null ? NULL_FIELD : URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+        }
+
+        private static String decodeField(String value) {
+            return NULL_FIELD.equals(value) ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
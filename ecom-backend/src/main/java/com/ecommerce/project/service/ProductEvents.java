@@ -0,0 +1,14 @@
+package com.ecommerce.project.service;
+
+/**
+ * Event types recorded in the outbox for the {@code Product} aggregate.
+ */
+public final class ProductEvents {
+
+    public static final String AGGREGATE_TYPE = "Product";
+
+    public static final String PRODUCT_CHANGED = "ProductChanged";
+
+    private ProductEvents() {
+    }
+}
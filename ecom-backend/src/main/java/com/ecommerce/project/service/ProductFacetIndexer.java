@@ -0,0 +1,287 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.ProductFacetIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link ProductFacetIndex} in line with the database. The index is loaded in the background once the
+ * application is ready (or on first use, should a search arrive before that finishes) and updated in place when a
+ * product change commits on this node. Every change also records a {@link ProductEvents#PRODUCT_CHANGED} outbox
+ * event in the same transaction; each node reads the outbox past its own cursor every
+ * {@code catalog.facets.sync-interval-ms} and reloads just those products, so changes made through other nodes
+ * (and local changes a concurrent rebuild may have overwritten) are applied with put/remove. The event bus is not
+ * used for this because it hands each event to one node only. A full rebuild runs every
+ * {@code catalog.facets.rebuild-interval-ms} to cover events committed after the cursor passed them. Rebuilds run
+ * on their own thread and swap the index in at the end, so searches are never blocked on the database once the
+ * index is loaded.
+ */
+@Component
+public class ProductFacetIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductFacetIndexer.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${outbox.relay.visibility-delay-ms:1000}")
+    private long visibilityDelayMs;
+
+    @Value("${catalog.facets.sync-batch-size:500}")
+    private int syncBatchSize;
+
+    private final ProductFacetIndex index;
+
+    private final long rebuildIntervalNanos;
+
+    private final Map<Long, String> sellerNames = new ConcurrentHashMap<>();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-facet-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean loaded;
+
+    // Outbox id up to which product events are reflected in the index
+    private volatile long syncedOutboxId;
+
+    private volatile long lastRebuildNanos;
+
+    public ProductFacetIndexer(
+            @Value("${catalog.facets.price-buckets:0,500,1000,5000,10000,50000}") double[] priceBuckets,
+            @Value("${catalog.facets.discount-buckets:0,10,25,50}") double[] discountBuckets,
+            @Value("${catalog.facets.rebuild-interval-ms:300000}") long rebuildIntervalMs) {
+        this.index = new ProductFacetIndex(priceBuckets, discountBuckets);
+        this.rebuildIntervalNanos = TimeUnit.MILLISECONDS.toNanos(rebuildIntervalMs);
+    }
+
+    public ProductFacetIndex.Result search(ProductFacetIndex.Query query, ProductFacetIndex.SortField sortField,
+                                           boolean ascending, int offset, int limit) {
+        if (!loaded) {
+            rebuildLock.lock();
+            try {
+                if (!loaded) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return index.search(query, sortField, ascending, offset, limit);
+    }
+
+    public List<String> priceBucketLabels() {
+        return index.priceBucketLabels();
+    }
+
+    public List<String> discountBucketLabels() {
+        return index.discountBucketLabels();
+    }
+
+    /**
+     * Returns the seller's user name, or {@code null} for a seller the index has not seen.
+     */
+    public String sellerName(Long sellerId) {
+        return sellerNames.get(sellerId);
+    }
+
+    /**
+     * Records the change for the other nodes and applies the product's current state to this node's index once the
+     * surrounding transaction commits. Must be called inside the transaction that changed the product.
+     */
+    public void productChanged(Product product) {
+        Long productId = product.getProductId();
+        outboxService.record(ProductEvents.AGGREGATE_TYPE, productId, ProductEvents.PRODUCT_CHANGED,
+                Map.of("productId", productId));
+        ProductFacetIndex.Entry entry = Boolean.TRUE.equals(product.getActive()) ? toEntry(product) : null;
+        String sellerName = product.getUser() == null ? null : product.getUser().getUserName();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (loaded) {
+                    apply(productId, entry, sellerName);
+                }
+            }
+        });
+    }
+
+    // Loads the whole catalog off the request path so the first search does not pay for it
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!loaded) {
+            rebuildInBackground();
+        }
+    }
+
+    // Only the periodic rebuild reloads the whole catalog; everything else is replayed from the outbox
+    @Scheduled(fixedDelayString = "${catalog.facets.sync-interval-ms:5000}")
+    public void sync() {
+        if (!loaded) {
+            return;
+        }
+        if (System.nanoTime() - lastRebuildNanos >= rebuildIntervalNanos) {
+            rebuildInBackground();
+            return;
+        }
+        // A running rebuild replays the events it overlapped itself once it is done
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            applyOutboxEvents();
+        } catch (RuntimeException e) {
+            logger.warn("Applying product changes to the facet index failed, retrying on the next sync", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuildLock.lock();
+                try {
+                    rebuild();
+                } finally {
+                    rebuildLock.unlock();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Product facet index rebuild failed, keeping the current index", e);
+            } finally {
+                rebuildQueued.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        // Read before loading: changes committed while loading are replayed from the outbox afterwards
+        long outboxId = latestVisibleOutboxId();
+        List<ProductFacetIndex.Entry> entries = new ArrayList<>();
+        Map<Long, String> names = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = productRepository.streamActiveFacetRows()) {
+                rows.forEach(row -> {
+                    ProductFacetIndex.Entry entry = toEntry(row);
+                    if (entry.sellerId() != null && row[4] != null) {
+                        names.put(entry.sellerId(), (String) row[4]);
+                    }
+                    entries.add(entry);
+                });
+            }
+        });
+        index.replaceAll(entries);
+        sellerNames.putAll(names);
+        syncedOutboxId = outboxId;
+        lastRebuildNanos = System.nanoTime();
+        loaded = true;
+        logger.debug("Product facet index rebuilt with {} products", entries.size());
+    }
+
+    // Events newer than the relay's visibility delay may still have lower ids in flight, so the cursor stops short
+    private void applyOutboxEvents() {
+        long upToId = latestVisibleOutboxId();
+        while (syncedOutboxId < upToId) {
+            List<OutboxEvent> events = outboxEventRepository.findByAggregateTypeInRange(ProductEvents.AGGREGATE_TYPE,
+                    syncedOutboxId, upToId, syncBatchSize);
+            Set<Long> productIds = new LinkedHashSet<>();
+            events.forEach(event -> productIds.add(Long.valueOf(event.getAggregateId())));
+            if (!productIds.isEmpty()) {
+                reload(productIds);
+            }
+            syncedOutboxId = events.size() < syncBatchSize ? upToId : events.get(events.size() - 1).getId();
+        }
+    }
+
+    private void reload(Set<Long> productIds) {
+        Set<Long> removed = new LinkedHashSet<>(productIds);
+        for (Object[] row : productRepository.findFacetRowsByProductIdIn(productIds)) {
+            if (Boolean.TRUE.equals(row[9])) {
+                removed.remove((Long) row[0]);
+                apply((Long) row[0], toEntry(row), (String) row[4]);
+            }
+        }
+        removed.forEach(productId -> apply(productId, null, null));
+        logger.debug("Applied changes to {} products to the facet index", productIds.size());
+    }
+
+    private void apply(Long productId, ProductFacetIndex.Entry entry, String sellerName) {
+        if (entry == null) {
+            index.remove(productId);
+            return;
+        }
+        if (entry.sellerId() != null && sellerName != null) {
+            sellerNames.put(entry.sellerId(), sellerName);
+        }
+        index.put(entry);
+    }
+
+    private long latestVisibleOutboxId() {
+        return outboxEventRepository.findLatestIdCreatedBefore(Instant.now().minusMillis(visibilityDelayMs))
+                .orElse(0L);
+    }
+
+    private static ProductFacetIndex.Entry toEntry(Object[] row) {
+        return new ProductFacetIndex.Entry((Long) row[0], (String) row[1], (Long) row[2], (Long) row[3],
+                (Double) row[5], (Double) row[6], (Double) row[7], row[8] == null ? 0 : (Integer) row[8]);
+    }
+
+    private ProductFacetIndex.Entry toEntry(Product product) {
+        return new ProductFacetIndex.Entry(product.getProductId(), product.getProductName(),
+                product.getCategory() == null ? null : product.getCategory().getCategoryId(),
+                product.getUser() == null ? null : product.getUser().getUserId(),
+                product.getPrice(), product.getSpecialPrice(), product.getDiscount(),
+                product.getQuantity() == null ? 0 : product.getQuantity());
+    }
+}
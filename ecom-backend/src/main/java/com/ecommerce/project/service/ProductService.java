@@ -1,10 +1,12 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFacetsResponse;
 import com.ecommerce.project.payload.ProductResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 public interface ProductService {
 
@@ -13,6 +15,10 @@ public interface ProductService {
 
     ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category);
 
+    ProductFacetsResponse getProductsWithFacets(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder,
+                                                String keyword, List<String> categories, List<Long> sellers,
+                                                List<String> priceRanges, List<String> discountRanges, Boolean inStock);
+
     ProductResponse searchByCategory(Long categoryId,Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
 
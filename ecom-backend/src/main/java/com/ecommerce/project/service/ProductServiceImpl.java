@@ -7,17 +7,21 @@ import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.model.Users;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.FacetValue;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFacetsResponse;
 import com.ecommerce.project.payload.ProductResponse;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.OrderItemRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductSpecifications;
 import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.ProductFacetIndex;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -30,7 +34,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 public class ProductServiceImpl implements ProductService {
@@ -59,6 +70,18 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private ProductCacheWarmer productCacheWarmer;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ProductFacetIndexer productFacetIndexer;
+
     @Value("${project.image}")
     private String path;
 
@@ -67,7 +90,6 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
     public ProductDTO addProduct(Long categoryId, ProductDTO productDTO) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() ->
@@ -92,6 +114,10 @@ public class ProductServiceImpl implements ProductService {
                     ((product.getDiscount() * 0.01) * product.getPrice());
             product.setSpecialPrice(specialPrice);
             Product savedProduct = productRepository.save(product);
+            categoryCache.invalidate();
+            catalogVersion.bump();
+            productFacetIndexer.productChanged(savedProduct);
+            productCacheWarmer.warmAfterEviction();
             return modelMapper.map(savedProduct, ProductDTO.class);
         } else {
             throw new APIException("Product already exist!!");
@@ -101,7 +127,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
 // CHANGED VALUE to "products_v2" to force a fresh fetch (ignoring old broken cache)
-    @Cacheable(value = "products_v2", key = "#pageNumber + '-' + #pageSize + '-' + #sortBy + '-' + #sortOrder + '-' + #keyword + '-' + #category")
+    @Cacheable(value = "products_v2", sync = true, key = "#pageNumber + '-' + #pageSize + '-' + #sortBy + '-' + #sortOrder + '-' + #keyword + '-' + #category")
     public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category) {
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
@@ -110,25 +136,17 @@ public class ProductServiceImpl implements ProductService {
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        // 1. Start with Empty Specification
-        Specification<Product> spec = Specification.allOf();
-
-        // 2. FILTER: Only fetch Active products
-        spec = spec.and((root, query, criteriaBuilder) ->
-                criteriaBuilder.isTrue(root.get("isActive")));
+        // 1. FILTER: Only fetch Active products
+        Specification<Product> spec = ProductSpecifications.isActive();
 
-        // 3. FILTER: Search by Keyword
+        // 2. FILTER: Search by Keyword
         if (keyword != null && !keyword.isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("productName")),
-                            "%" + keyword.toLowerCase() + "%"));
+            spec = spec.and(ProductSpecifications.nameContains(keyword));
         }
 
-        // 4. FILTER: Filter by Category
+        // 3. FILTER: Filter by Category (resolved to an id from the cache, so no join on categories)
         if (category != null && !category.isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(root.get("category").get("categoryName"),
-                            category));
+            spec = spec.and(ProductSpecifications.inCategory(categoryCache.findCategoryId(category)));
         }
 
         Page<Product> productPage = productRepository.findAll(spec, pageDetails);
@@ -153,6 +171,108 @@ public class ProductServiceImpl implements ProductService {
 
         return productResponse;
     }
+    /**
+     * Serves filtering, paging and facet counts from the in-memory {@link ProductFacetIndexer}; only the products
+     * of the requested page are read from the database.
+     */
+    @Override
+    public ProductFacetsResponse getProductsWithFacets(Integer pageNumber, Integer pageSize, String sortBy,
+                                                       String sortOrder, String keyword, List<String> categories,
+                                                       List<Long> sellers, List<String> priceRanges,
+                                                       List<String> discountRanges, Boolean inStock) {
+        ProductFacetIndex.SortField sortField = ProductFacetIndex.SortField.of(sortBy);
+        if (sortField == null) {
+            throw new APIException("Products cannot be sorted by " + sortBy);
+        }
+
+        Map<ProductFacetIndex.Facet, List<Long>> filters = new EnumMap<>(ProductFacetIndex.Facet.class);
+        if (categories != null) {
+            // Unknown category names stay in the filter as null and match nothing, as in getAllProducts
+            List<Long> categoryIds = new ArrayList<>();
+            categories.forEach(name -> categoryIds.add(categoryCache.findCategoryId(name)));
+            filters.put(ProductFacetIndex.Facet.CATEGORY, categoryIds);
+        }
+        if (sellers != null) {
+            filters.put(ProductFacetIndex.Facet.SELLER, sellers);
+        }
+        if (priceRanges != null) {
+            filters.put(ProductFacetIndex.Facet.PRICE,
+                    bucketIndexes(priceRanges, productFacetIndexer.priceBucketLabels(), "price range"));
+        }
+        if (discountRanges != null) {
+            filters.put(ProductFacetIndex.Facet.DISCOUNT,
+                    bucketIndexes(discountRanges, productFacetIndexer.discountBucketLabels(), "discount range"));
+        }
+        if (inStock != null) {
+            filters.put(ProductFacetIndex.Facet.IN_STOCK, List.of(inStock ? 1L : 0L));
+        }
+
+        ProductFacetIndex.Result result = productFacetIndexer.search(new ProductFacetIndex.Query(keyword, filters),
+                sortField, sortOrder.equalsIgnoreCase("asc"), pageNumber * pageSize, pageSize);
+
+        Map<Long, Product> productsById = new HashMap<>();
+        productRepository.findAllById(result.productIds())
+                .forEach(product -> productsById.put(product.getProductId(), product));
+        List<ProductDTO> productDTOS = result.productIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(product -> {
+                    ProductDTO productDTO = modelMapper.map(product, ProductDTO.class);
+                    productDTO.setImage(constructImageUrl(product.getImage()));
+                    return productDTO;
+                })
+                .toList();
+
+        int totalPages = (int) ((result.totalElements() + pageSize - 1) / pageSize);
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productDTOS);
+        productResponse.setPageNumber(pageNumber);
+        productResponse.setPageSize(pageSize);
+        productResponse.setTotalElements(result.totalElements());
+        productResponse.setTotalPages(totalPages);
+        productResponse.setLastPage(pageNumber + 1 >= totalPages);
+
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        facets.put("category", facetValues(result.facets().get(ProductFacetIndex.Facet.CATEGORY), categoryId -> {
+            CategoryDTO category = categoryCache.findCategory(categoryId);
+            return category == null ? null : category.getCategoryName();
+        }, true));
+        facets.put("seller", facetValues(result.facets().get(ProductFacetIndex.Facet.SELLER),
+                productFacetIndexer::sellerName, false));
+        facets.put("price", facetValues(result.facets().get(ProductFacetIndex.Facet.PRICE),
+                bucket -> productFacetIndexer.priceBucketLabels().get(bucket.intValue()), true));
+        facets.put("discount", facetValues(result.facets().get(ProductFacetIndex.Facet.DISCOUNT),
+                bucket -> productFacetIndexer.discountBucketLabels().get(bucket.intValue()), true));
+        facets.put("inStock", facetValues(result.facets().get(ProductFacetIndex.Facet.IN_STOCK),
+                stock -> stock == 1L ? "true" : "false", true));
+        return new ProductFacetsResponse(productResponse, facets);
+    }
+
+    private List<Long> bucketIndexes(List<String> ranges, List<String> labels, String facet) {
+        List<Long> buckets = new ArrayList<>();
+        for (String range : ranges) {
+            int bucket = labels.indexOf(range);
+            if (bucket < 0) {
+                throw new APIException("Unknown " + facet + " " + range + ", expected one of " + labels);
+            }
+            buckets.add((long) bucket);
+        }
+        return buckets;
+    }
+
+    // Values without a label (e.g. a category deleted since the index was built) are left out
+    private List<FacetValue> facetValues(Map<Long, Integer> counts, Function<Long, String> labeler,
+                                         boolean labelIsValue) {
+        List<FacetValue> values = new ArrayList<>();
+        counts.forEach((key, count) -> {
+            String label = labeler.apply(key);
+            if (label != null) {
+                values.add(new FacetValue(labelIsValue ? label : String.valueOf(key), label, count));
+            }
+        });
+        return values;
+    }
+
     private String constructImageUrl(String imageName){
         return imageBaseUrl.endsWith("/") ? imageBaseUrl + imageName : imageName + "/" + imageName;
     }
@@ -160,16 +280,19 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductResponse searchByCategory(Long categoryId,Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
 
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(()->new ResourceNotFoundException("Category","categoryId",categoryId));
+        CategoryDTO category = categoryCache.findCategory(categoryId);
+        if (category == null)
+            throw new ResourceNotFoundException("Category","categoryId",categoryId);
 
-            Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                    ? Sort.by(sortBy).ascending()
-                    : Sort.by(sortBy).descending();
-            Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-            Page<Product> productPage = productRepository.findByCategoryOrderByPriceAsc(category,pageDetails);
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        Specification<Product> spec = ProductSpecifications.inCategory(categoryId)
+                .and(ProductSpecifications.isActive());
+        Page<Product> productPage = productRepository.findAll(spec, pageDetails);
 
-            List<Product> products = productPage.getContent();
+        List<Product> products = productPage.getContent();
 
         if(products.isEmpty())
             throw  new APIException(category.getCategoryName() + " category does not have any products");
@@ -195,7 +318,7 @@ public class ProductServiceImpl implements ProductService {
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%',pageDetails);
+        Page<Product> productPage = productRepository.findAll(ProductSpecifications.nameContains(keyword),pageDetails);
         List<Product> products = productPage.getContent();
 
         List<ProductDTO> productDTOS = products.stream()
@@ -217,6 +340,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         Product productFromDb = productRepository.findById(productId)
                 .orElseThrow(()-> new ResourceNotFoundException("Product","productId",productId));
@@ -240,6 +364,9 @@ public class ProductServiceImpl implements ProductService {
         }).toList();
 
         cartDTOS.forEach(cart -> cartService.updateProductsInCarts(cart.getCartId(),productId));
+        catalogVersion.bump();
+        productFacetIndexer.productChanged(savedProduct);
+        productCacheWarmer.warmAfterEviction();
 
         return modelMapper.map(savedProduct, ProductDTO.class);
 
@@ -247,7 +374,6 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "products_v2", allEntries = true)
     public ProductDTO deleteProduct(Long productId) {
         // A. Find the product first
         Product product = productRepository.findById(productId)
@@ -271,6 +397,10 @@ public class ProductServiceImpl implements ProductService {
         // (You can use Soft Delete or Hard Delete here. Soft Delete is still safer.)
         product.setActive(false);
         productRepository.save(product);
+        categoryCache.invalidate();
+        catalogVersion.bump();
+        productFacetIndexer.productChanged(product);
+        productCacheWarmer.warmAfterEviction();
 
         return modelMapper.map(product, ProductDTO.class);
     }
@@ -289,6 +419,8 @@ public class ProductServiceImpl implements ProductService {
         productFromDb.setImage(filename);
         //Save updated product
         Product updatedProduct = productRepository.save(productFromDb);
+        catalogVersion.bump();
+        productCacheWarmer.warmAfterEviction();
         //return DTO after mapping to Dto
         return modelMapper.map(updatedProduct,ProductDTO.class);
     }
@@ -0,0 +1,188 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes relayed events to a Redis stream. Each {@link EventConsumer} reads through its own consumer group,
+ * so offsets live in Redis and are shared by all application instances. Entries are acknowledged only after
+ * they were handled; unacknowledged entries are redelivered to the same consumer before it reads new ones.
+ * Consumer names are per instance, so entries left pending by an instance that died are claimed by another one
+ * once they have been idle for {@code events.redis.claim-idle-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus", havingValue = "redis")
+public class RedisStreamEventBus implements EventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisStreamEventBus.class);
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private List<EventConsumer> consumers = List.of();
+
+    @Value("${events.redis.stream:events:domain}")
+    private String streamKey;
+
+    @Value("${events.redis.max-length:100000}")
+    private long maxLength;
+
+    @Value("${events.redis.batch-size:100}")
+    private int batchSize;
+
+    // Longer than any consumer takes to handle a batch, or live entries get handled twice
+    @Value("${events.redis.claim-idle-ms:60000}")
+    private long claimIdleMs;
+
+    private final String instanceName = "instance-" + UUID.randomUUID();
+
+    private final Set<String> createdGroups = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            Map<String, String> fields = new HashMap<>();
+            fields.put("id", String.valueOf(event.getId()));
+            fields.put("aggregateType", event.getAggregateType());
+            fields.put("aggregateId", event.getAggregateId());
+            fields.put("eventType", event.getEventType());
+            fields.put("payload", writePayload(event.getPayload()));
+            fields.put("createdAt", event.getCreatedAt().toString());
+            stringRedisTemplate.opsForStream().add(streamKey, fields);
+        }
+        stringRedisTemplate.opsForStream().trim(streamKey, maxLength, true);
+    }
+
+    @Scheduled(fixedDelayString = "${events.redis.poll-interval-ms:500}")
+    public void pollConsumers() {
+        for (EventConsumer consumer : consumers) {
+            try {
+                poll(consumer);
+            } catch (RuntimeException e) {
+                logger.warn("Event consumer {} failed, unacknowledged events will be redelivered", consumer.getName(), e);
+            }
+        }
+    }
+
+    private void poll(EventConsumer consumer) {
+        String group = consumer.getName();
+        ensureGroup(group);
+        // Entries delivered earlier but never acknowledged come first, then new entries
+        List<MapRecord<String, Object, Object>> records = read(group, ReadOffset.from("0"));
+        if (records == null || records.isEmpty()) {
+            records = claimStale(group);
+        }
+        if (records.isEmpty()) {
+            records = read(group, ReadOffset.lastConsumed());
+        }
+        if (records == null) {
+            return;
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            consumer.handle(toDomainEvent(record.getValue()));
+            stringRedisTemplate.opsForStream().acknowledge(streamKey, group, record.getId());
+        }
+    }
+
+    private List<MapRecord<String, Object, Object>> read(String group, ReadOffset readOffset) {
+        return stringRedisTemplate.opsForStream().read(
+                Consumer.from(group, instanceName),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(streamKey, readOffset));
+    }
+
+    // XPENDING + XCLAIM; XCLAIM re-checks the idle time, so two instances never both take an entry
+    private List<MapRecord<String, Object, Object>> claimStale(String group) {
+        Duration minIdle = Duration.ofMillis(claimIdleMs);
+        PendingMessages pending = stringRedisTemplate.opsForStream()
+                .pending(streamKey, group, Range.unbounded(), batchSize);
+        List<RecordId> stale = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (!instanceName.equals(message.getConsumerName())
+                    && message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                stale.add(message.getId());
+            }
+        }
+        if (stale.isEmpty()) {
+            return List.of();
+        }
+        List<MapRecord<String, Object, Object>> claimed = stringRedisTemplate.opsForStream()
+                .claim(streamKey, group, instanceName, minIdle, stale.toArray(new RecordId[0]));
+        if (!claimed.isEmpty()) {
+            logger.info("Claimed {} stale events for consumer group {}", claimed.size(), group);
+        }
+        return claimed;
+    }
+
+    private void ensureGroup(String group) {
+        if (createdGroups.contains(group)) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), group);
+        } catch (DataAccessException e) {
+            // BUSYGROUP: the group was created earlier or by another instance
+            logger.debug("Consumer group {} already exists", group);
+        }
+        createdGroups.add(group);
+    }
+
+    private DomainEvent toDomainEvent(Map<Object, Object> fields) {
+        try {
+            return new DomainEvent(
+                    Long.valueOf((String) fields.get("id")),
+                    (String) fields.get("aggregateType"),
+                    (String) fields.get("aggregateId"),
+                    (String) fields.get("eventType"),
+                    objectMapper.readValue((String) fields.get("payload"), PAYLOAD_TYPE),
+                    Instant.parse((String) fields.get("createdAt")));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable event payload", e);
+        }
+    }
+
+    private String writePayload(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Event payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.RefreshTokenRotation;
+
+public interface RefreshTokenService {
+
+    String issue(Long userId);
+
+    RefreshTokenRotation rotate(String refreshToken);
+
+    void revoke(String refreshToken);
+}
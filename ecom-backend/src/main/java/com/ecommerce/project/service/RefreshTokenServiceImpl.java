@@ -0,0 +1,117 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.RefreshToken;
+import com.ecommerce.project.model.Users;
+import com.ecommerce.project.payload.RefreshTokenRotation;
+import com.ecommerce.project.repositories.RefreshTokenRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens, stored as SHA-256 hashes. Each renewal revokes the presented token and issues a new
+ * one in the same family; presenting a token that was already rotated means it leaked, so the family is revoked.
+ */
+@Service
+@Transactional(dontRollbackOn = BadCredentialsException.class)
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${spring.app.jwtRefreshExpirationMs}")
+    private long refreshExpirationMs;
+
+    @Override
+    public String issue(Long userId) {
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(String refreshToken) {
+        RefreshToken stored = findLive(refreshToken);
+        if (refreshTokenRepository.revoke(stored.getId(), Instant.now()) == 0) {
+            // Lost the race against another renewal with the same token: treat it like any other reuse
+            revokeFamily(stored);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        Users user = stored.getUser();
+        return new RefreshTokenRotation(user, issue(user, stored.getFamilyId()));
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(cron = "${auth.refresh-token.cleanup-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        logger.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private RefreshToken findLive(String refreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token is invalid"));
+        if (stored.getRevokedAt() != null) {
+            revokeFamily(stored);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        if (stored.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+        return stored;
+    }
+
+    private void revokeFamily(RefreshToken stored) {
+        int revoked = refreshTokenRepository.revokeFamily(stored.getFamilyId(), Instant.now());
+        logger.warn("Refresh token reuse for user {}, revoked {} live tokens of family {}",
+                stored.getUser().getUserId(), revoked, stored.getFamilyId());
+    }
+
+    private String issue(Users user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken refreshToken = new RefreshToken(null, hash(token), familyId, user, now,
+                now.plusMillis(refreshExpirationMs), null);
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
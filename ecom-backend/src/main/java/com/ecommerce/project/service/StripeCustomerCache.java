@@ -0,0 +1,97 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.StripeCustomer;
+import com.ecommerce.project.repositories.StripeCustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email -> Stripe customer id lookups, tiered as local memory, then Redis, then the
+ * {@code stripe_customers} table. Redis failures only cost a database lookup.
+ */
+@Component
+public class StripeCustomerCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeCustomerCache.class);
+
+    private static final String REDIS_KEY_PREFIX = "stripe:customer:";
+
+    private static final Duration REDIS_TTL = Duration.ofDays(7);
+
+    @Autowired
+    private StripeCustomerRepository stripeCustomerRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${stripe.customer-cache.local-max-entries:10000}")
+    private int localMaxEntries;
+
+    private final Map<String, String> localCache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the Stripe customer id for the email, or {@code null} if none has been recorded yet.
+     */
+    public String findCustomerId(String email) {
+        String customerId = localCache.get(email);
+        if (customerId != null) {
+            return customerId;
+        }
+
+        try {
+            customerId = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + email);
+        } catch (DataAccessException e) {
+            logger.warn("Redis lookup of Stripe customer failed, falling back to the database: {}", e.getMessage());
+        }
+        if (customerId == null) {
+            customerId = stripeCustomerRepository.findById(email)
+                    .map(StripeCustomer::getCustomerId)
+                    .orElse(null);
+            if (customerId == null) {
+                return null;
+            }
+            putRedis(email, customerId);
+        }
+        putLocal(email, customerId);
+        return customerId;
+    }
+
+    /**
+     * Records the mapping in all tiers. If another request stored a mapping first, that one wins and is returned.
+     */
+    public String put(String email, String customerId) {
+        if (stripeCustomerRepository.insertIfAbsent(email, customerId) == 0) {
+            customerId = stripeCustomerRepository.findById(email)
+                    .map(StripeCustomer::getCustomerId)
+                    .orElse(customerId);
+        }
+        putRedis(email, customerId);
+        putLocal(email, customerId);
+        return customerId;
+    }
+
+    private void putRedis(String email, String customerId) {
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + email, customerId, REDIS_TTL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not cache Stripe customer in Redis: {}", e.getMessage());
+        }
+    }
+
+    private void putLocal(String email, String customerId) {
+        // Mappings never change, so a crude reset is enough to bound memory
+        if (localCache.size() >= localMaxEntries) {
+            localCache.clear();
+        }
+        localCache.put(email, customerId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.PaymentEvent;
+import com.ecommerce.project.payload.StripePaymentDTO;
+import com.ecommerce.project.repositories.PaymentRepository;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+import com.stripe.net.Webhook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "stripe", matchIfMissing = true)
+public class StripePaymentGateway implements PaymentGateway {
+
+    @Autowired
+    private StripeService stripeService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Value("${stripe.webhook.secret:}")
+    private String webhookSecret;
+
+    @Override
+    public String getName() {
+        return "Stripe";
+    }
+
+    @Override
+    public String createClientSecret(StripePaymentDTO stripePaymentDTO) {
+        try {
+            return stripeService.paymentIntent(stripePaymentDTO).getClientSecret();
+        } catch (StripeException e) {
+            throw new APIException("Payment could not be created: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getSignatureHeader() {
+        return "Stripe-Signature";
+    }
+
+    @Override
+    public PaymentEvent verifyWebhook(String payload, String signature) {
+        if (webhookSecret == null || webhookSecret.isBlank()) {
+            throw new APIException("Stripe webhook secret is not configured");
+        }
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException | RuntimeException e) {
+            throw new APIException("Invalid Stripe webhook signature");
+        }
+
+        boolean succeeded;
+        switch (event.getType()) {
+            case "payment_intent.succeeded" -> succeeded = true;
+            case "payment_intent.payment_failed", "payment_intent.canceled" -> succeeded = false;
+            default -> {
+                return null;
+            }
+        }
+
+        PaymentIntent paymentIntent = (PaymentIntent) deserialize(event);
+        // Intents created elsewhere on the account would be retried until parked; intents from before the
+        // metadata was added are still accepted once their payment is stored
+        if (!isOwnIntent(paymentIntent) && !paymentRepository.existsByPgPaymentId(paymentIntent.getId())) {
+            return null;
+        }
+        String message = succeeded
+                ? "Payment successful"
+                : paymentIntent.getLastPaymentError() != null
+                        ? paymentIntent.getLastPaymentError().getMessage()
+                        : "Payment " + paymentIntent.getStatus();
+        return new PaymentEvent(event.getId(), paymentIntent.getId(), paymentIntent.getStatus(), message, succeeded,
+                paymentIntent.getAmount(), paymentIntent.getCurrency());
+    }
+
+    private boolean isOwnIntent(PaymentIntent paymentIntent) {
+        return paymentIntent.getMetadata() != null && StripeService.INTENT_METADATA_VALUE.equals(
+                paymentIntent.getMetadata().get(StripeService.INTENT_METADATA_KEY));
+    }
+
+    private StripeObject deserialize(Event event) {
+        EventDataObjectDeserializer deserializer = event.getDataObjectDeserializer();
+        if (deserializer.getObject().isPresent()) {
+            return deserializer.getObject().get();
+        }
+        // The webhook endpoint may be pinned to a different API version than the SDK
+        try {
+            return deserializer.deserializeUnsafe();
+        } catch (EventDataObjectDeserializationException e) {
+            throw new APIException("Unreadable Stripe event " + event.getId());
+        }
+    }
+}
@@ -6,5 +6,10 @@ import com.stripe.model.PaymentIntent;
 
 public interface StripeService {
 
+    // Set on every payment intent created here, so webhooks for other intents on the account can be told apart
+    String INTENT_METADATA_KEY = "source";
+
+    String INTENT_METADATA_VALUE = "ecom-backend";
+
     PaymentIntent paymentIntent(StripePaymentDTO stripePaymentDTO) throws StripeException;
 }
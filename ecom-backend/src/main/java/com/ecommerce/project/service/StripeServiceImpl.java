@@ -1,45 +1,94 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.payload.StripePaymentDTO;
+import com.ecommerce.project.repositories.CartRepository;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.model.CustomerSearchResult;
 import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.CustomerCreateParams;
 import com.stripe.param.CustomerSearchParams;
 import com.stripe.param.PaymentIntentCreateParams;
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
 
 @Service
-@Transactional
 public class StripeServiceImpl implements StripeService{
 
     @Value("${stripe.secret.key}")
     private String stripeApiKey;
 
+    // Point at a local stripe-mock (e.g. http://localhost:12111) for tests and load runs
+    @Value("${stripe.api.base:}")
+    private String stripeApiBase;
+
+    @Autowired
+    private StripeCustomerCache stripeCustomerCache;
+
+    @Autowired
+    private CartRepository cartRepository;
+
     @PostConstruct
     public void init(){
         Stripe.apiKey=stripeApiKey;
+        if (stripeApiBase != null && !stripeApiBase.isBlank()) {
+            Stripe.overrideApiBase(stripeApiBase);
+        }
     }
 
     @Override
     public PaymentIntent paymentIntent(StripePaymentDTO stripePaymentDTO) throws StripeException {
-        Customer customer;
+        String customerId = resolveCustomerId(stripePaymentDTO);
+
+        PaymentIntentCreateParams params =
+                PaymentIntentCreateParams.builder()
+                        .setAmount(stripePaymentDTO.getAmount())
+                        .setCurrency(stripePaymentDTO.getCurrency())
+                        .setCustomer(customerId)
+                        .setDescription(stripePaymentDTO.getDescription())
+                        .putMetadata(INTENT_METADATA_KEY, INTENT_METADATA_VALUE)
+                        .setAutomaticPaymentMethods(
+                                PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
+                                        .setEnabled(true)
+                                        .build()
+                        )
+                        .build();
+
+        // Retried calls for the same cart checkout and amount get the same intent back from Stripe
+        RequestOptions requestOptions = RequestOptions.builder()
+                .setIdempotencyKey(paymentIntentIdempotencyKey(stripePaymentDTO))
+                .build();
 
+        return PaymentIntent.create(params, requestOptions);
+    }
+
+    private String resolveCustomerId(StripePaymentDTO stripePaymentDTO) throws StripeException {
+        String email = stripePaymentDTO.getEmail();
+        String customerId = stripeCustomerCache.findCustomerId(email);
+        if (customerId != null) {
+            return customerId;
+        }
+
+        // First checkout since the mapping was introduced: the customer may already exist in Stripe
         CustomerSearchParams searchParams =
                 CustomerSearchParams.builder()
-                        .setQuery("email:'" + stripePaymentDTO.getEmail() + "'")
+                        .setQuery("email:'" + email + "'")
                         .build();
         CustomerSearchResult customers = Customer.search(searchParams);
+        Customer customer;
         if(customers.getData().isEmpty()){
             CustomerCreateParams customerParams =
                     CustomerCreateParams.builder()
                             .setName(stripePaymentDTO.getName())
-                            .setEmail(stripePaymentDTO.getEmail())
+                            .setEmail(email)
                             .setAddress(
                                     CustomerCreateParams.Address.builder()
                                             .setLine1(stripePaymentDTO.getAddress().getStreet())
@@ -50,24 +99,26 @@ public class StripeServiceImpl implements StripeService{
                                             .build()
                             )
                             .build();
-            customer = Customer.create(customerParams);
+            // Concurrent first checkouts for the same email create a single customer
+            RequestOptions requestOptions = RequestOptions.builder()
+                    .setIdempotencyKey("customer-" + md5(email))
+                    .build();
+            customer = Customer.create(customerParams, requestOptions);
         }else{
             customer = customers.getData().get(0);
         }
+        return stripeCustomerCache.put(email, customer.getId());
+    }
 
-        PaymentIntentCreateParams params =
-                PaymentIntentCreateParams.builder()
-                        .setAmount(stripePaymentDTO.getAmount())
-                        .setCurrency(stripePaymentDTO.getCurrency())
-                        .setCustomer(customer.getId())
-                        .setDescription(stripePaymentDTO.getDescription())
-                        .setAutomaticPaymentMethods(
-                                PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
-                                        .setEnabled(true)
-                                        .build()
-                        )
-                        .build();
+    private String paymentIntentIdempotencyKey(StripePaymentDTO stripePaymentDTO) {
+        Cart cart = cartRepository.findCartByEmail(stripePaymentDTO.getEmail());
+        String checkout = cart == null
+                ? "email-" + md5(stripePaymentDTO.getEmail())
+                : "cart-" + cart.getCartId() + "-" + cart.getCheckoutVersion();
+        return "payment-intent-" + checkout + "-" + stripePaymentDTO.getAmount() + "-" + stripePaymentDTO.getCurrency();
+    }
 
-        return PaymentIntent.create(params);
+    private String md5(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,77 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.model.Address;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of an address as stored, and the content hash that identifies the same address re-entered by
+ * the same user. Text fields are Unicode (NFKC) normalized with whitespace trimmed and collapsed; pincodes are
+ * upper-cased without whitespace. The hash is additionally case-insensitive, so "MG Road" and "mg road" match.
+ */
+public final class AddressNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Unit separator: cannot appear in normalized text, so field boundaries are unambiguous
+    private static final String FIELD_SEPARATOR = "\u001F";
+
+    private AddressNormalizer() {
+    }
+
+    /**
+     * Normalizes the address fields in place and sets its content hash.
+     */
+    public static void normalize(Address address) {
+        address.setStreet(normalizeText(address.getStreet()));
+        address.setBuildingName(normalizeText(address.getBuildingName()));
+        address.setCity(normalizeText(address.getCity()));
+        address.setState(normalizeText(address.getState()));
+        address.setCountry(normalizeText(address.getCountry()));
+        address.setPincode(normalizePincode(address.getPincode()));
+        address.setContentHash(contentHash(address.getStreet(), address.getBuildingName(), address.getCity(),
+                address.getState(), address.getCountry(), address.getPincode()));
+    }
+
+    public static String normalizeText(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").strip();
+    }
+
+    public static String normalizePincode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * SHA-256 hex of the normalized, lower-cased fields. Expects already normalized values.
+     */
+    public static String contentHash(String street, String buildingName, String city, String state, String country,
+                                     String pincode) {
+        String canonical = String.join(FIELD_SEPARATOR, nullToEmpty(street), nullToEmpty(buildingName),
+                nullToEmpty(city), nullToEmpty(state), nullToEmpty(country), nullToEmpty(pincode))
+                .toLowerCase(Locale.ROOT);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
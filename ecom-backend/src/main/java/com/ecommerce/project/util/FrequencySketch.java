@@ -0,0 +1,115 @@
+package com.ecommerce.project.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate access frequencies in a fixed amount of memory: a count-min sketch with four rows, plus the
+ * {@code capacity} keys with the highest estimates seen so far. Once {@code sampleSize} keys have been added
+ * every count is halved, so the top keys follow recent traffic instead of all-time totals.
+ * Estimates never undercount; collisions can only inflate them.
+ */
+public class FrequencySketch<K> {
+
+    private static final int DEPTH = 4;
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int[][] counts;
+
+    private final int mask;
+
+    private final int capacity;
+
+    private final int sampleSize;
+
+    private final Map<K, Integer> top = new HashMap<>();
+
+    private int additions;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param capacity number of top keys tracked
+     */
+    public FrequencySketch(int width, int capacity) {
+        int size = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.counts = new int[DEPTH][size];
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.sampleSize = size * 10;
+    }
+
+    public synchronized void add(K key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (counts[row][index] < Integer.MAX_VALUE) {
+                counts[row][index]++;
+            }
+            estimate = Math.min(estimate, counts[row][index]);
+        }
+        track(key, estimate);
+        if (++additions >= sampleSize) {
+            halve();
+        }
+    }
+
+    public synchronized int estimate(K key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts[row][index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns up to {@code limit} tracked keys, most frequent first.
+     */
+    public synchronized List<K> top(int limit) {
+        List<Map.Entry<K, Integer>> entries = new ArrayList<>(top.entrySet());
+        entries.sort(Map.Entry.<K, Integer>comparingByValue(Comparator.reverseOrder()));
+        return entries.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void track(K key, int estimate) {
+        if (top.containsKey(key) || top.size() < capacity) {
+            top.put(key, estimate);
+            return;
+        }
+        Map.Entry<K, Integer> least = null;
+        for (Map.Entry<K, Integer> entry : top.entrySet()) {
+            if (least == null || entry.getValue() < least.getValue()) {
+                least = entry;
+            }
+        }
+        if (least != null && estimate > least.getValue()) {
+            top.remove(least.getKey());
+            top.put(key, estimate);
+        }
+    }
+
+    private void halve() {
+        for (int[] row : counts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        top.replaceAll((key, estimate) -> estimate >>> 1);
+        top.values().removeIf(estimate -> estimate == 0);
+        additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.project.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array element by element as a producer emits them, so a response over a large result set only
+ * ever holds one element and the servlet output buffer in memory instead of the whole list.
+ */
+@Component
+public class JsonArrayStreamer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Returns a 200 response whose body is the array of everything {@code producer} passes to its consumer.
+     * The producer runs once the response is being written, outside the calling thread.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> response(Consumer<Consumer<T>> producer) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        StreamingResponseBody body = outputStream -> write(outputStream, producer);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    public <T> void write(OutputStream outputStream, Consumer<Consumer<T>> producer) throws IOException {
+        // Flushing per element would defeat response compression; the servlet buffer flushes when full
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            generator.writeStartArray();
+            producer.accept(element -> {
+                try {
+                    writer.writeValue(generator, element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+    }
+}
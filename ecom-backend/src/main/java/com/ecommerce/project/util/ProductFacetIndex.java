@@ -0,0 +1,471 @@
+package com.ecommerce.project.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index over the active catalog. Every product gets a dense slot; each facet keeps one
+ * {@link BitSet} of slots per value plus the value ordinal of every slot in a primitive array. Filters are
+ * combined with bitset AND/OR, and facet counts are taken over the matching slots with the facet's own filter
+ * left out, so the counts show what selecting another value of that facet would return.
+ * Keyword filters scan the lower-cased names of the active products.
+ * Thread-safe: searches share a read lock, updates and {@link #replaceAll} take the write lock.
+ */
+public final class ProductFacetIndex {
+
+    public enum Facet {
+        CATEGORY, SELLER, PRICE, DISCOUNT, IN_STOCK
+    }
+
+    public enum SortField {
+        PRODUCT_ID, PRODUCT_NAME, PRICE, SPECIAL_PRICE, DISCOUNT, QUANTITY;
+
+        /**
+         * Maps a {@code Product} property name to a sort field, or {@code null} when it cannot be sorted on here.
+         */
+        public static SortField of(String property) {
+            return switch (property) {
+                case "productId" -> PRODUCT_ID;
+                case "productName" -> PRODUCT_NAME;
+                case "price" -> PRICE;
+                case "specialPrice" -> SPECIAL_PRICE;
+                case "discount" -> DISCOUNT;
+                case "quantity" -> QUANTITY;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * A product as indexed. Prices are bucketed by special price (what the customer pays).
+     */
+    public record Entry(long productId, String productName, Long categoryId, Long sellerId, double price,
+                        double specialPrice, double discount, int quantity) {
+    }
+
+    /**
+     * Filters per facet; within a facet the selected values are OR-ed, facets are AND-ed. Facets without
+     * selected values and a blank keyword do not filter. Price and discount values are bucket indexes,
+     * stock is {@code 1} for in stock and {@code 0} for out of stock.
+     */
+    public record Query(String keyword, Map<Facet, ? extends Collection<Long>> filters) {
+    }
+
+    /**
+     * Product ids of the requested page in order, the number of matching products, and per facet the
+     * number of products for each value (ordered by value).
+     */
+    public record Result(List<Long> productIds, long totalElements, Map<Facet, Map<Long, Integer>> facets) {
+    }
+
+    private static final Facet[] FACETS = Facet.values();
+
+    private final double[] priceBoundaries;
+
+    private final double[] discountBoundaries;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State(16);
+
+    /**
+     * Bucket {@code i} covers {@code [boundaries[i], boundaries[i + 1])}; the last bucket is open-ended and
+     * values below the first boundary fall into the first bucket.
+     */
+    public ProductFacetIndex(double[] priceBoundaries, double[] discountBoundaries) {
+        this.priceBoundaries = checkedBoundaries(priceBoundaries);
+        this.discountBoundaries = checkedBoundaries(discountBoundaries);
+    }
+
+    /**
+     * Labels of the price buckets, e.g. {@code 0-500} and {@code 10000+}, indexed by bucket.
+     */
+    public List<String> priceBucketLabels() {
+        return bucketLabels(priceBoundaries);
+    }
+
+    public List<String> discountBucketLabels() {
+        return bucketLabels(discountBoundaries);
+    }
+
+    /**
+     * Replaces the whole index with the given products.
+     */
+    public void replaceAll(Collection<Entry> entries) {
+        State rebuilt = new State(Math.max(16, entries.size()));
+        for (Entry entry : entries) {
+            rebuilt.put(entry, this);
+        }
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the product or replaces its previous values.
+     */
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            state.put(entry, this);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.active.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(Query query, SortField sortField, boolean ascending, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return state.search(query, sortField, ascending, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int priceBucket(double specialPrice) {
+        return bucket(priceBoundaries, specialPrice);
+    }
+
+    int discountBucket(double discount) {
+        return bucket(discountBoundaries, discount);
+    }
+
+    private static int bucket(double[] boundaries, double value) {
+        int index = Arrays.binarySearch(boundaries, value);
+        // Not found: index = -(insertion point) - 1, and the bucket is the one before the insertion point
+        int bucket = index >= 0 ? index : -index - 2;
+        return Math.max(bucket, 0);
+    }
+
+    private static double[] checkedBoundaries(double[] boundaries) {
+        if (boundaries.length == 0) {
+            throw new IllegalArgumentException("At least one bucket boundary is required");
+        }
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i] <= boundaries[i - 1]) {
+                throw new IllegalArgumentException("Bucket boundaries must be strictly increasing");
+            }
+        }
+        return boundaries.clone();
+    }
+
+    private static List<String> bucketLabels(double[] boundaries) {
+        List<String> labels = new ArrayList<>(boundaries.length);
+        for (int i = 0; i < boundaries.length; i++) {
+            labels.add(i + 1 < boundaries.length
+                    ? format(boundaries[i]) + "-" + format(boundaries[i + 1])
+                    : format(boundaries[i]) + "+");
+        }
+        return List.copyOf(labels);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    /**
+     * Values of one facet: a dense ordinal per distinct value, the ordinal of every slot and the slots per ordinal.
+     */
+    private static final class Dimension {
+
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+
+        private long[] values = new long[8];
+
+        private final List<BitSet> postings = new ArrayList<>();
+
+        private int[] ordinalOfSlot;
+
+        Dimension(int capacity) {
+            ordinalOfSlot = new int[capacity];
+        }
+
+        void grow(int capacity) {
+            ordinalOfSlot = Arrays.copyOf(ordinalOfSlot, capacity);
+        }
+
+        void set(int slot, long value) {
+            Integer ordinal = ordinals.get(value);
+            if (ordinal == null) {
+                ordinal = postings.size();
+                ordinals.put(value, ordinal);
+                if (ordinal == values.length) {
+                    values = Arrays.copyOf(values, ordinal * 2);
+                }
+                values[ordinal] = value;
+                postings.add(new BitSet());
+            }
+            ordinalOfSlot[slot] = ordinal;
+            postings.get(ordinal).set(slot);
+        }
+
+        void clear(int slot) {
+            postings.get(ordinalOfSlot[slot]).clear(slot);
+        }
+
+        // Slots having any of the values; null when nothing is selected
+        BitSet union(Collection<Long> selected) {
+            if (selected == null || selected.isEmpty()) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (Long value : selected) {
+                Integer ordinal = value == null ? null : ordinals.get(value);
+                if (ordinal != null) {
+                    union.or(postings.get(ordinal));
+                }
+            }
+            return union;
+        }
+
+        Map<Long, Integer> counts(int[] counts) {
+            Map<Long, Integer> byValue = new TreeMap<>();
+            for (int ordinal = 0; ordinal < postings.size(); ordinal++) {
+                if (counts[ordinal] > 0) {
+                    byValue.put(values[ordinal], counts[ordinal]);
+                }
+            }
+            return byValue;
+        }
+
+        int size() {
+            return postings.size();
+        }
+    }
+
+    private static final class State {
+
+        private final Map<Long, Integer> slotsByProductId = new HashMap<>();
+
+        private final BitSet active = new BitSet();
+
+        private final EnumMap<Facet, Dimension> dimensions = new EnumMap<>(Facet.class);
+
+        // Sort orders over all slots, built on first use and dropped on every change
+        private final Map<SortField, int[]> sortOrders = new ConcurrentHashMap<>();
+
+        private int size;
+
+        private long[] productIds;
+
+        private String[] names;
+
+        private String[] lowerCaseNames;
+
+        private double[] prices;
+
+        private double[] specialPrices;
+
+        private double[] discounts;
+
+        private int[] quantities;
+
+        State(int capacity) {
+            productIds = new long[capacity];
+            names = new String[capacity];
+            lowerCaseNames = new String[capacity];
+            prices = new double[capacity];
+            specialPrices = new double[capacity];
+            discounts = new double[capacity];
+            quantities = new int[capacity];
+            for (Facet facet : FACETS) {
+                dimensions.put(facet, new Dimension(capacity));
+            }
+        }
+
+        void put(Entry entry, ProductFacetIndex index) {
+            Integer slot = slotsByProductId.get(entry.productId());
+            if (slot == null) {
+                slot = size++;
+                if (slot == productIds.length) {
+                    grow(slot * 2);
+                }
+                slotsByProductId.put(entry.productId(), slot);
+            } else if (active.get(slot)) {
+                clearPostings(slot);
+            }
+
+            productIds[slot] = entry.productId();
+            names[slot] = entry.productName() == null ? "" : entry.productName();
+            lowerCaseNames[slot] = names[slot].toLowerCase(Locale.ROOT);
+            prices[slot] = entry.price();
+            specialPrices[slot] = entry.specialPrice();
+            discounts[slot] = entry.discount();
+            quantities[slot] = entry.quantity();
+
+            // Missing category or seller ids are indexed under 0, which no real id uses
+            dimensions.get(Facet.CATEGORY).set(slot, entry.categoryId() == null ? 0L : entry.categoryId());
+            dimensions.get(Facet.SELLER).set(slot, entry.sellerId() == null ? 0L : entry.sellerId());
+            dimensions.get(Facet.PRICE).set(slot, index.priceBucket(entry.specialPrice()));
+            dimensions.get(Facet.DISCOUNT).set(slot, index.discountBucket(entry.discount()));
+            dimensions.get(Facet.IN_STOCK).set(slot, entry.quantity() > 0 ? 1L : 0L);
+            active.set(slot);
+            sortOrders.clear();
+        }
+
+        // The slot is kept, so a product that comes back reuses it
+        void remove(long productId) {
+            Integer slot = slotsByProductId.get(productId);
+            if (slot != null && active.get(slot)) {
+                clearPostings(slot);
+                active.clear(slot);
+                sortOrders.clear();
+            }
+        }
+
+        private void clearPostings(int slot) {
+            for (Dimension dimension : dimensions.values()) {
+                dimension.clear(slot);
+            }
+        }
+
+        private void grow(int capacity) {
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            lowerCaseNames = Arrays.copyOf(lowerCaseNames, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            specialPrices = Arrays.copyOf(specialPrices, capacity);
+            discounts = Arrays.copyOf(discounts, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            for (Dimension dimension : dimensions.values()) {
+                dimension.grow(capacity);
+            }
+        }
+
+        Result search(Query query, SortField sortField, boolean ascending, int offset, int limit) {
+            BitSet candidates = (BitSet) active.clone();
+            String keyword = query.keyword();
+            if (keyword != null && !keyword.isBlank()) {
+                String lowerCaseKeyword = keyword.toLowerCase(Locale.ROOT);
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    if (!lowerCaseNames[slot].contains(lowerCaseKeyword)) {
+                        candidates.clear(slot);
+                    }
+                }
+            }
+
+            EnumMap<Facet, BitSet> selections = new EnumMap<>(Facet.class);
+            Map<Facet, ? extends Collection<Long>> filters = query.filters() == null ? Map.of() : query.filters();
+            for (Facet facet : FACETS) {
+                BitSet selection = dimensions.get(facet).union(filters.get(facet));
+                if (selection != null) {
+                    selections.put(facet, selection);
+                }
+            }
+
+            BitSet matches = (BitSet) candidates.clone();
+            selections.values().forEach(matches::and);
+
+            // Facets without a selection of their own are all counted over the matches in a single pass
+            Map<Facet, int[]> counts = new EnumMap<>(Facet.class);
+            List<Facet> unselected = new ArrayList<>();
+            for (Facet facet : FACETS) {
+                counts.put(facet, new int[dimensions.get(facet).size()]);
+                if (!selections.containsKey(facet)) {
+                    unselected.add(facet);
+                }
+            }
+            count(matches, unselected, counts);
+            for (Facet facet : selections.keySet()) {
+                BitSet others = (BitSet) candidates.clone();
+                selections.forEach((other, selection) -> {
+                    if (other != facet) {
+                        others.and(selection);
+                    }
+                });
+                count(others, List.of(facet), counts);
+            }
+
+            Map<Facet, Map<Long, Integer>> facets = new LinkedHashMap<>();
+            for (Facet facet : FACETS) {
+                facets.put(facet, dimensions.get(facet).counts(counts.get(facet)));
+            }
+            return new Result(page(matches, sortField, ascending, offset, limit), matches.cardinality(), facets);
+        }
+
+        private void count(BitSet slots, List<Facet> facets, Map<Facet, int[]> counts) {
+            if (facets.isEmpty()) {
+                return;
+            }
+            int[][] ordinals = new int[facets.size()][];
+            int[][] targets = new int[facets.size()][];
+            for (int i = 0; i < facets.size(); i++) {
+                ordinals[i] = dimensions.get(facets.get(i)).ordinalOfSlot;
+                targets[i] = counts.get(facets.get(i));
+            }
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                for (int i = 0; i < ordinals.length; i++) {
+                    targets[i][ordinals[i][slot]]++;
+                }
+            }
+        }
+
+        private List<Long> page(BitSet matches, SortField sortField, boolean ascending, int offset, int limit) {
+            List<Long> page = new ArrayList<>();
+            if (limit <= 0 || offset >= matches.cardinality()) {
+                return page;
+            }
+            int skipped = 0;
+            int[] order = sortOrders.computeIfAbsent(sortField, this::sortOrder);
+            for (int i = 0; i < order.length && page.size() < limit; i++) {
+                int slot = order[ascending ? i : order.length - 1 - i];
+                if (matches.get(slot)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        page.add(productIds[slot]);
+                    }
+                }
+            }
+            return page;
+        }
+
+        private int[] sortOrder(SortField sortField) {
+            Comparator<Integer> comparator = switch (sortField) {
+                case PRODUCT_ID -> Comparator.comparingLong(slot -> productIds[slot]);
+                case PRODUCT_NAME -> Comparator.comparing(slot -> names[slot]);
+                case PRICE -> Comparator.comparingDouble(slot -> prices[slot]);
+                case SPECIAL_PRICE -> Comparator.comparingDouble(slot -> specialPrices[slot]);
+                case DISCOUNT -> Comparator.comparingDouble(slot -> discounts[slot]);
+                case QUANTITY -> Comparator.comparingInt(slot -> quantities[slot]);
+            };
+            Integer[] slots = active.stream().boxed().toArray(Integer[]::new);
+            Arrays.sort(slots, comparator.thenComparingLong(slot -> productIds[slot]));
+            return Arrays.stream(slots).mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
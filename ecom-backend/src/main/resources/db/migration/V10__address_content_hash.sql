@@ -0,0 +1,9 @@
+-- Identifies identical addresses of the same user (see AddressNormalizer). Existing rows are hashed, and their
+-- duplicates merged, by AddressDeduplicationJob; until then their hash is null and they are not constrained.
+ALTER TABLE addresses ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_addresses_user_content_hash
+    ON addresses (user_id, content_hash) WHERE content_hash IS NOT NULL;
+
+-- AddressDeduplicationJob moves orders from a duplicate to the address that is kept
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_address ON orders (address_id);
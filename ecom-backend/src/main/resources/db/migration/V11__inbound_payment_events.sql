@@ -0,0 +1,24 @@
+-- Verified payment gateway webhooks, stored before the webhook is acknowledged and applied by PaymentEventQueue
+CREATE TABLE inbound_payment_events (
+    id                  BIGSERIAL PRIMARY KEY,
+    event_id            VARCHAR(255) NOT NULL,
+    pg_payment_id       VARCHAR(255) NOT NULL,
+    pg_status           VARCHAR(255),
+    pg_response_message VARCHAR(1000),
+    succeeded           BOOLEAN NOT NULL,
+    amount              BIGINT,
+    currency            VARCHAR(16),
+    attempts            INTEGER NOT NULL,
+    received_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    next_attempt_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    processed_at        TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Gateways redeliver events; each is stored once
+CREATE UNIQUE INDEX uk_inbound_payment_events_event_id ON inbound_payment_events (event_id);
+
+-- InboundPaymentEventRepository.lockNextDue only ever looks at unprocessed events
+CREATE INDEX idx_inbound_payment_events_due ON inbound_payment_events (next_attempt_at) WHERE processed_at IS NULL;
+
+-- InboundPaymentEventRepository.deleteProcessedBefore
+CREATE INDEX idx_inbound_payment_events_processed_at ON inbound_payment_events (processed_at);
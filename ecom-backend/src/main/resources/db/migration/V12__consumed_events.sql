@@ -0,0 +1,13 @@
+-- Events handled by each in-process consumer. Replaces the per-consumer high-water mark, which skipped an event
+-- whose transaction took a lower id but committed after a higher one had been relayed
+CREATE TABLE consumed_events (
+    consumer_name VARCHAR(255) NOT NULL,
+    event_id      BIGINT NOT NULL,
+    handled_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (consumer_name, event_id)
+);
+
+-- ConsumedEventRepository.deleteHandledBefore
+CREATE INDEX idx_consumed_events_handled_at ON consumed_events (handled_at);
+
+DROP TABLE event_consumer_offsets;
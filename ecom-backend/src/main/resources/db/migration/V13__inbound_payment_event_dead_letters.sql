@@ -0,0 +1,11 @@
+-- Events still not applied after payment.events.max-attempts are parked instead of retried forever
+ALTER TABLE inbound_payment_events ADD COLUMN IF NOT EXISTS dead_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- InboundPaymentEventRepository.lockNextDue skips parked events
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_inbound_payment_events_due_live ON inbound_payment_events (next_attempt_at)
+    WHERE processed_at IS NULL AND dead_at IS NULL;
+DROP INDEX CONCURRENTLY IF EXISTS idx_inbound_payment_events_due;
+
+-- InboundPaymentEventRepository.countDead and deleteDeadBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_inbound_payment_events_dead_at ON inbound_payment_events (dead_at)
+    WHERE dead_at IS NOT NULL;
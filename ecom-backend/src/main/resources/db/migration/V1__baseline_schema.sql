@@ -0,0 +1,95 @@
+-- Baseline schema, equivalent to what hibernate.ddl-auto=update produced before migrations were introduced.
+-- Databases that already contain these tables are baselined at this version and skip this script.
+
+CREATE TABLE roles (
+    role_id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    role_name VARCHAR(20) CHECK (role_name IN ('ROLE_USER', 'ROLE_SELLER', 'ROLE_ADMIN'))
+);
+
+CREATE TABLE users (
+    user_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(20),
+    email    VARCHAR(50),
+    password VARCHAR(120),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_role (
+    user_id BIGINT  NOT NULL REFERENCES users (user_id),
+    role_id INTEGER NOT NULL REFERENCES roles (role_id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE categories (
+    category_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_name VARCHAR(255)
+);
+
+CREATE TABLE products (
+    product_id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_name  VARCHAR(255),
+    image         VARCHAR(255),
+    description   VARCHAR(255),
+    quantity      INTEGER,
+    price         FLOAT(53) NOT NULL,
+    discount      FLOAT(53) NOT NULL,
+    special_price FLOAT(53) NOT NULL,
+    category_id   BIGINT REFERENCES categories (category_id),
+    seller_id     BIGINT REFERENCES users (user_id),
+    is_active     BOOLEAN
+);
+
+CREATE TABLE addresses (
+    address_id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    street        VARCHAR(255),
+    building_name VARCHAR(255),
+    city          VARCHAR(255),
+    state         VARCHAR(255),
+    country       VARCHAR(255),
+    pincode       VARCHAR(255),
+    user_id       BIGINT REFERENCES users (user_id)
+);
+
+CREATE TABLE carts (
+    cart_id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT UNIQUE REFERENCES users (user_id),
+    total_price FLOAT(53)
+);
+
+CREATE TABLE cart_items (
+    cart_item_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cart_id       BIGINT REFERENCES carts (cart_id),
+    product_id    BIGINT REFERENCES products (product_id),
+    quantity      INTEGER,
+    discount      FLOAT(53),
+    product_price FLOAT(53)
+);
+
+CREATE TABLE payments (
+    payment_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    payment_method      VARCHAR(255),
+    pg_payment_id       VARCHAR(255),
+    pg_status           VARCHAR(255),
+    pg_response_message VARCHAR(255),
+    pg_name             VARCHAR(255)
+);
+
+CREATE TABLE orders (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email        VARCHAR(255) NOT NULL,
+    order_date   DATE,
+    payment_id   BIGINT UNIQUE REFERENCES payments (payment_id),
+    total_amount FLOAT(53),
+    order_status VARCHAR(255),
+    address_id   BIGINT REFERENCES addresses (address_id)
+);
+
+CREATE TABLE order_items (
+    order_item_id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id            BIGINT REFERENCES products (product_id),
+    order_id              BIGINT REFERENCES orders (id),
+    quantity              INTEGER,
+    discount              FLOAT(53) NOT NULL,
+    ordered_product_price FLOAT(53) NOT NULL
+);
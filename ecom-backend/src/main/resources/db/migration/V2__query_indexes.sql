@@ -0,0 +1,29 @@
+-- Indexes backing the repository queries. Built concurrently so large production tables stay writable.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ProductSpecifications: storefront listing, category filter and keyword search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_active_id ON products (is_active, product_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_active_id ON products (category_id, is_active, product_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_active_price ON products (category_id, is_active, price);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_active_special_price ON products (category_id, is_active, special_price);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_active_name ON products (category_id, is_active, product_name);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(product_name) gin_trgm_ops);
+
+-- ProductRepository.findByUser
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_seller ON products (seller_id);
+
+-- OrderRepository.findByEmail and the admin order listing (default sort is totalAmount)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_email_total_amount ON orders (email, total_amount);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_total_amount ON orders (total_amount);
+
+-- Order.orderItems and OrderItemRepository.existsByProductProductId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_product ON order_items (product_id);
+
+-- CartItemRepository lookups by cart and product, CartRepository.findCartsByProductId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cart_items_cart_product ON cart_items (cart_id, product_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cart_items_product ON cart_items (product_id);
+
+-- UserRepository.findByRoleName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_role_role ON user_role (role_id);
@@ -0,0 +1,9 @@
+-- Email -> Stripe customer id mapping, so checkout no longer searches Stripe for the customer
+CREATE TABLE stripe_customers (
+    email       VARCHAR(255) PRIMARY KEY,
+    customer_id VARCHAR(255) NOT NULL UNIQUE,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Bumped whenever a cart is checked out, so payment-intent idempotency keys never reuse a paid intent
+ALTER TABLE carts ADD COLUMN checkout_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- PaymentRepository.findByPgPaymentId: webhook confirmations look payments up by gateway payment id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payments_pg_payment_id ON payments (pg_payment_id);
@@ -0,0 +1,23 @@
+-- Transactional outbox: written in the same transaction as the order change, drained by OutboxRelay
+CREATE TABLE outbox_events (
+    id             BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(255) NOT NULL,
+    aggregate_id   VARCHAR(255) NOT NULL,
+    event_type     VARCHAR(255) NOT NULL,
+    payload        JSONB NOT NULL,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    published_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- OutboxEventRepository.lockUnpublishedBatch only ever looks at the unpublished tail
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
+
+-- OutboxEventRepository.deletePublishedBefore
+CREATE INDEX idx_outbox_events_published_at ON outbox_events (published_at);
+
+-- Last event id handled by each in-process consumer
+CREATE TABLE event_consumer_offsets (
+    consumer_name VARCHAR(255) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
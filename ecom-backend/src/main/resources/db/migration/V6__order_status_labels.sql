@@ -0,0 +1,20 @@
+-- Orders are read through OrderStatusConverter, which only accepts OrderStatus labels.
+UPDATE orders SET order_status = 'Accepted' WHERE order_status = 'Order Accepted !';
+
+UPDATE orders SET order_status = CASE lower(order_status)
+        WHEN 'payment pending' THEN 'Payment Pending'
+        WHEN 'payment failed' THEN 'Payment Failed'
+        WHEN 'pending' THEN 'Pending'
+        WHEN 'accepted' THEN 'Accepted'
+        WHEN 'processing' THEN 'Processing'
+        WHEN 'shipped' THEN 'Shipped'
+        WHEN 'delivered' THEN 'Delivered'
+        WHEN 'cancelled' THEN 'Cancelled'
+        -- Free text set through the old status endpoint: put it back into the fulfilment queue
+        ELSE 'Pending'
+    END
+WHERE order_status IS NULL
+   OR order_status NOT IN ('Payment Pending', 'Payment Failed', 'Pending', 'Accepted', 'Processing',
+                           'Shipped', 'Delivered', 'Cancelled');
+
+ALTER TABLE orders ALTER COLUMN order_status SET NOT NULL;
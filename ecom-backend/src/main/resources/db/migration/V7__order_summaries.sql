@@ -0,0 +1,65 @@
+-- Denormalized order history read model, written once by placeOrder.
+-- The document holds the OrderDTO as rendered at placement time: line items, payment summary and address snapshot.
+CREATE TABLE order_summaries (
+    order_id     BIGINT PRIMARY KEY REFERENCES orders (id),
+    email        VARCHAR(255) NOT NULL,
+    order_date   DATE,
+    total_amount FLOAT(53),
+    order_status VARCHAR(255) NOT NULL,
+    document     JSONB NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Backfill from the normalized tables. Orders placed before this migration get today's product data,
+-- which is the best snapshot still available.
+INSERT INTO order_summaries (order_id, email, order_date, total_amount, order_status, document, updated_at)
+SELECT o.id, o.email, o.order_date, o.total_amount, o.order_status,
+       jsonb_build_object(
+           'orderId', o.id,
+           'email', o.email,
+           'orderDate', o.order_date,
+           'totalAmount', o.total_amount,
+           'orderStatus', o.order_status,
+           'addressId', o.address_id,
+           'orderItems', COALESCE((
+               SELECT jsonb_agg(jsonb_build_object(
+                          'oderItemId', oi.order_item_id,
+                          'quantity', oi.quantity,
+                          'discount', oi.discount,
+                          'orderedProductPrice', oi.ordered_product_price,
+                          'product', jsonb_build_object(
+                              'productId', p.product_id,
+                              'productName', p.product_name,
+                              'image', p.image,
+                              'description', p.description,
+                              'quantity', p.quantity,
+                              'price', p.price,
+                              'discount', p.discount,
+                              'specialPrice', p.special_price))
+                      ORDER BY oi.order_item_id)
+               FROM order_items oi
+               LEFT JOIN products p ON p.product_id = oi.product_id
+               WHERE oi.order_id = o.id), '[]'::jsonb),
+           'payment', CASE WHEN pay.payment_id IS NULL THEN NULL ELSE jsonb_build_object(
+               'paymentId', pay.payment_id,
+               'paymentMethod', pay.payment_method,
+               'pgPaymentId', pay.pg_payment_id,
+               'pgStatus', pay.pg_status,
+               'pgName', pay.pg_name) END,
+           'address', CASE WHEN a.address_id IS NULL THEN NULL ELSE jsonb_build_object(
+               'addressId', a.address_id,
+               'street', a.street,
+               'buildingName', a.building_name,
+               'city', a.city,
+               'state', a.state,
+               'country', a.country,
+               'pincode', a.pincode) END),
+       now()
+FROM orders o
+LEFT JOIN payments pay ON pay.payment_id = o.payment_id
+LEFT JOIN addresses a ON a.address_id = o.address_id;
+
+-- OrderSummaryRepository.findByEmail for each supported sort
+CREATE INDEX idx_order_summaries_email_total_amount ON order_summaries (email, total_amount);
+CREATE INDEX idx_order_summaries_email_order_date ON order_summaries (email, order_date);
+CREATE INDEX idx_order_summaries_email_order ON order_summaries (email, order_id);
@@ -0,0 +1,17 @@
+-- Rotating refresh tokens. Only the SHA-256 hash of a token is stored; every rotation stays in the same
+-- family, so presenting an already rotated token revokes the whole family (token theft detection).
+CREATE TABLE refresh_tokens (
+    id          BIGSERIAL PRIMARY KEY,
+    token_hash  VARCHAR(64) NOT NULL UNIQUE,
+    family_id   VARCHAR(36) NOT NULL,
+    user_id     BIGINT NOT NULL REFERENCES users (user_id),
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- RefreshTokenRepository.revokeFamily
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+-- RefreshTokenRepository.deleteExpiredBefore
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,2 @@
+-- AddressRepository per-user lookups (address book, checkout address checks)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_user ON addresses (user_id);
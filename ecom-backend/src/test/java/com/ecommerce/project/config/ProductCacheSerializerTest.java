@@ -0,0 +1,102 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductCacheSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    void roundTripsProductPagesWithAndWithoutCompression() {
+        ProductResponse page = page(50);
+        for (int threshold : new int[]{-1, 0, 1024}) {
+            ProductCacheSerializer serializer = new ProductCacheSerializer(json, threshold);
+            assertEquals(page, serializer.deserialize(serializer.serialize(page)));
+        }
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        ProductCacheSerializer serializer = new ProductCacheSerializer(json, -1);
+        ProductDTO product = new ProductDTO(null, null, "", null, null, -1.5, 0, Double.NaN);
+        assertEquals(product, serializer.deserialize(serializer.serialize(product)));
+
+        ProductResponse empty = new ProductResponse(null, null, null, null, null, true);
+        assertEquals(empty, serializer.deserialize(serializer.serialize(empty)));
+    }
+
+    @Test
+    void roundTripsStampedValues() {
+        CachedValue cached = new CachedValue(page(50), 1_760_000_000_000L, 42);
+        for (int threshold : new int[]{-1, 0}) {
+            ProductCacheSerializer serializer = new ProductCacheSerializer(json, threshold);
+            assertEquals(cached, serializer.deserialize(serializer.serialize(cached)));
+        }
+    }
+
+    @Test
+    void isMuchSmallerThanJson() {
+        ProductResponse page = page(50);
+        int binary = new ProductCacheSerializer(json, 0).serialize(page).length;
+        assertTrue(binary * 3 < json.serialize(page).length);
+    }
+
+    @Test
+    void delegatesOtherValues() {
+        ProductCacheSerializer serializer = new ProductCacheSerializer(json, -1);
+        Map<String, Object> value = new HashMap<>();
+        value.put("key", "value");
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+
+    @Test
+    void treatsForeignFormatsAsMisses() {
+        ProductCacheSerializer serializer = new ProductCacheSerializer(json, -1);
+        assertNull(serializer.deserialize(json.serialize(page(1))));
+
+        byte[] futureVersion = serializer.serialize(page(1));
+        futureVersion[1] = (byte) (ProductCacheSerializer.VERSION + 1);
+        assertNull(serializer.deserialize(futureVersion));
+    }
+
+    @Test
+    void reportsCorruptValuesOnlyAsSerializationExceptions() {
+        for (int threshold : new int[]{-1, 0}) {
+            ProductCacheSerializer serializer = new ProductCacheSerializer(json, threshold);
+            byte[] valid = serializer.serialize(page(3));
+            for (int i = 2; i < valid.length; i++) {
+                for (byte corrupt : new byte[]{(byte) 0x7F, (byte) 0x80, (byte) 0xFF}) {
+                    byte[] bytes = valid.clone();
+                    bytes[i] = corrupt;
+                    try {
+                        serializer.deserialize(bytes);
+                    } catch (SerializationException expected) {
+                        // The only failure a corrupt value may cause
+                    }
+                }
+            }
+        }
+    }
+
+    private ProductResponse page(int size) {
+        List<ProductDTO> content = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            content.add(new ProductDTO(i, "Product " + i, "http://localhost:8080/images/product-" + i + ".png",
+                    "Description of product " + i, (int) i % 100, i + 0.99, i % 50, (i + 0.99) * 0.9));
+        }
+        return new ProductResponse(content, 0, size, 200_000L, 200_000 / size, false);
+    }
+}
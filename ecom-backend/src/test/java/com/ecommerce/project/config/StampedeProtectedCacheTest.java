@@ -0,0 +1,99 @@
+package com.ecommerce.project.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StampedeProtectedCacheTest {
+
+    private final ConcurrentMapCache delegate = new ConcurrentMapCache("products_v2", false);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    @BeforeEach
+    void leaseIsFree() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        StampedeProtectedCache cache = cache(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return cache.get("0-10", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "page";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("page", result.get());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void servesStaleValueWhileRefreshing() {
+        StampedeProtectedCache cache = cache(Duration.ZERO);
+        cache.put("0-10", "old");
+
+        assertEquals("old", cache.get("0-10", () -> "new"));
+        assertEquals("new", cache.get("0-10", String.class));
+    }
+
+    @Test
+    void waitsForTheInstanceHoldingTheLease() throws Exception {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        StampedeProtectedCache cache = cache(Duration.ofMinutes(1));
+        Thread peer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                return;
+            }
+            cache.put("0-10", "from peer");
+        });
+        peer.start();
+
+        assertEquals("from peer", cache.get("0-10", () -> "local"));
+        peer.join();
+    }
+
+    private StampedeProtectedCache cache(Duration freshFor) {
+        return new StampedeProtectedCache(delegate, redisTemplate, Runnable::run, freshFor, Duration.ofSeconds(2),
+                1.0, new SimpleMeterRegistry());
+    }
+}
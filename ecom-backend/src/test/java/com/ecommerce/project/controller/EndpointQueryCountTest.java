@@ -0,0 +1,167 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.metrics.JdbcStatementCounter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static com.ecommerce.project.metrics.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements the hottest endpoints issue, measured through the Hibernate
+ * {@link JdbcStatementCounter} against an embedded Postgres migrated with Flyway. A new N+1 (an EAGER association,
+ * or ModelMapper walking a lazy graph) pushes an endpoint over its budget and fails the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+
+    private static final String SEED = """
+            INSERT INTO users (username, email, password)
+                VALUES ('shopper', 'shopper@example.com', 'unused'), ('buyer', 'buyer@example.com', 'unused');
+            INSERT INTO user_role (user_id, role_id)
+                SELECT u.user_id, r.role_id FROM users u, roles r
+                WHERE u.username IN ('shopper', 'buyer') AND r.role_name = 'ROLE_USER';
+            INSERT INTO categories (category_name) VALUES ('Electronics');
+            INSERT INTO products (product_name, description, image, quantity, price, discount, special_price,
+                                  category_id, seller_id, is_active)
+                SELECT 'Product ' || g, 'Description ' || g, 'default.png', 100, 100, 10, 90, c.category_id,
+                       u.user_id, true
+                FROM generate_series(1, 30) g, categories c, users u
+                WHERE c.category_name = 'Electronics' AND u.username = 'seller1';
+            INSERT INTO addresses (street, building_name, city, state, country, pincode, user_id)
+                SELECT 'Street ' || g, 'Building ' || g, 'Bengaluru', 'Karnataka', 'India', '560001', u.user_id
+                FROM generate_series(1, 3) g, users u WHERE u.username IN ('shopper', 'buyer');
+            INSERT INTO carts (user_id, total_price)
+                SELECT user_id, 180 FROM users WHERE username IN ('shopper', 'buyer');
+            INSERT INTO cart_items (cart_id, product_id, quantity, discount, product_price)
+                SELECT c.cart_id, p.product_id, 1, 10, 90 FROM carts c, products p
+                WHERE p.product_name IN ('Product 21', 'Product 22');
+            """;
+
+    private static EmbeddedPostgres postgres;
+
+    private static RedisServer redis;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws Exception {
+        postgres = EmbeddedPostgres.start();
+        int redisPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redis = new RedisServer(redisPort);
+        redis.start();
+        // The context outlives this class in the test context cache, so the servers go with the JVM
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                redis.stop();
+                postgres.close();
+            } catch (Exception e) {
+                // Shutting down anyway
+            }
+        }));
+
+        byte[] jwtSecret = new byte[64];
+        new SecureRandom().nextBytes(jwtSecret);
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", () -> redisPort);
+        registry.add("spring.data.redis.password", () -> "");
+        registry.add("spring.app.jwtSecret", () -> Base64.getEncoder().encodeToString(jwtSecret));
+        registry.add("spring.app.jwtCookieName", () -> "jwtToken");
+        registry.add("stripe.secret.key", () -> "sk_test_unused");
+        registry.add("ai.api.key", () -> "unused");
+        registry.add("payment.gateway", () -> "fake");
+        registry.add("payment.fake.auto-confirm", () -> false);
+        registry.add("rate-limit.enabled", () -> false);
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute(SEED);
+    }
+
+    @Test
+    void productListing() {
+        assertMaxQueries(8, () -> mockMvc.perform(get("/api/public/products")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @WithUserDetails(value = "shopper", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void cart() {
+        assertMaxQueries(12, () -> mockMvc.perform(get("/api/carts/users/cart"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @WithUserDetails(value = "shopper", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void addressListing() {
+        assertMaxQueries(10, () -> mockMvc.perform(get("/api/addresses"))
+                .andExpect(status().isOk()));
+    }
+
+    // Two cart items: their stock updates and cart removals are the only per-item statements
+    @Test
+    @WithUserDetails(value = "buyer", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void placeOrder() {
+        Long addressId = jdbcTemplate.queryForObject("SELECT MIN(a.address_id) FROM addresses a "
+                + "JOIN users u ON u.user_id = a.user_id WHERE u.username = 'buyer'", Long.class);
+        String order = """
+                {"addressId": %d, "pgName": "Fake", "pgPaymentId": "pi_query_count",
+                 "pgStatus": "pending", "pgResponseMessage": "Awaiting payment confirmation"}
+                """.formatted(addressId);
+
+        assertMaxQueries(30, () -> mockMvc.perform(post("/api/order/users/payments/card")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(order))
+                .andExpect(status().isCreated()));
+    }
+
+    // Budgets only cap the count; make sure the counter sees Hibernate's statements and nothing else
+    @Test
+    void countsStatementsHibernateIssues() throws Exception {
+        long before = JdbcStatementCounter.current();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        assertEquals(before, JdbcStatementCounter.current());
+
+        mockMvc.perform(get("/api/public/products")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk());
+        assertTrue(JdbcStatementCounter.current() > before);
+    }
+}
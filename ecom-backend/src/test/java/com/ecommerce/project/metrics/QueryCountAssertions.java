@@ -0,0 +1,41 @@
+package com.ecommerce.project.metrics;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Pins the number of SQL statements a piece of work issues, e.g. one MockMvc call per endpoint test:
+ * <pre>
+ * assertMaxQueries(3, () -> mockMvc.perform(get("/api/public/products")).andExpect(status().isOk()));
+ * </pre>
+ * Counts are per thread, so the work must run on the calling thread (MockMvc does; a live server does not).
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertMaxQueries(long max, Executable work) {
+        assertMaxQueries(max, () -> {
+            work.execute();
+            return null;
+        });
+    }
+
+    public static <T> T assertMaxQueries(long max, ThrowingSupplier<T> work) {
+        long before = JdbcStatementCounter.current();
+        T result;
+        try {
+            result = work.get();
+        } catch (Throwable e) {
+            throw new AssertionError("Work under a query budget failed", e);
+        }
+        long statements = JdbcStatementCounter.current() - before;
+        if (statements > max) {
+            fail("Expected at most " + max + " SQL statements but " + statements + " were issued");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.project.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.ecommerce.project.metrics.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryCountAssertionsTest {
+
+    private final JdbcStatementCounter counter = new JdbcStatementCounter();
+
+    @Test
+    void passesWithinBudget() {
+        String result = assertMaxQueries(2, () -> {
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            return "done";
+        });
+        assertEquals("done", result);
+    }
+
+    @Test
+    void failsOverBudget() {
+        assertThrows(AssertionError.class, () -> assertMaxQueries(1, () -> {
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+        }));
+    }
+
+    @Test
+    void ignoresStatementsIssuedBeforehand() {
+        counter.inspect("select 1");
+        assertMaxQueries(0, () -> {
+        });
+    }
+}
@@ -0,0 +1,515 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.AppRole;
+import com.ecommerce.project.model.OrderStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every repository query against an embedded Postgres that has been migrated with Flyway and seeded with
+ * production-sized tables, records each statement Hibernate sends (including the loads of EAGER associations) with
+ * its bound values, and EXPLAINs it. A plan that falls back to a sequential scan on one of the large tables fails
+ * the build.
+ *
+ * Full-table aggregates (OrderRepository.getTotalRevenue, ProductRepository.countActiveProductsByCategory,
+ * and the count queries behind admin and storefront paging, including the per-role user count) and the full
+ * catalog load behind the facet index and the streamed admin cart and address exports
+ * (ProductRepository.streamActiveFacetRows, CartRepository.streamAllWithItems, AddressRepository.streamAllAsDto)
+ * necessarily read every row and are intentionally not checked.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "users", "user_role", "products", "addresses", "carts", "cart_items", "payments", "orders", "order_items",
+            "order_summaries", "refresh_tokens", "outbox_events", "inbound_payment_events", "consumed_events");
+
+    private static final String SEED = """
+            INSERT INTO roles (role_name) VALUES ('ROLE_USER'), ('ROLE_SELLER'), ('ROLE_ADMIN');
+            INSERT INTO users (username, email, password)
+                SELECT 'user' || g, 'user' || g || '@example.com', 'secret' FROM generate_series(1, 50000) g;
+            INSERT INTO user_role (user_id, role_id)
+                SELECT g, CASE WHEN g % 100 = 0 THEN 2 ELSE 1 END FROM generate_series(1, 50000) g;
+            INSERT INTO categories (category_name) SELECT 'Category ' || g FROM generate_series(1, 50) g;
+            INSERT INTO products (product_name, description, image, quantity, price, discount, special_price,
+                                  category_id, seller_id, is_active)
+                SELECT 'Product ' || md5(g::text), 'Description ' || g, 'default.png', g % 100,
+                       (g % 1000) + 0.99, g % 50, ((g % 1000) + 0.99) * (1 - (g % 50) / 100.0),
+                       (g % 50) + 1, ((g % 500) + 1) * 100, g % 10 <> 0
+                FROM generate_series(1, 200000) g;
+            INSERT INTO addresses (street, building_name, city, state, country, pincode, user_id)
+                SELECT 'Street ' || g, 'Building ' || g, 'Bengaluru', 'Karnataka', 'India', '560001', g
+                FROM generate_series(1, 50000) g;
+            INSERT INTO carts (user_id, total_price) SELECT g, 0 FROM generate_series(1, 50000) g;
+            INSERT INTO cart_items (cart_id, product_id, quantity, discount, product_price)
+                SELECT (g % 50000) + 1, ((g * 7919) % 200000) + 1, 1, 0, 9.99 FROM generate_series(1, 150000) g;
+            INSERT INTO payments (payment_method, pg_payment_id, pg_status, pg_response_message, pg_name)
+                SELECT 'card', 'pi_' || g, 'succeeded', 'ok', 'Stripe' FROM generate_series(1, 200000) g;
+            INSERT INTO orders (email, order_date, payment_id, total_amount, order_status, address_id)
+                SELECT 'user' || ((g % 50000) + 1) || '@example.com', current_date - (g % 365), g, g % 5000,
+                       'Accepted', (g % 50000) + 1
+                FROM generate_series(1, 200000) g;
+            INSERT INTO order_summaries (order_id, email, order_date, total_amount, order_status, document, updated_at)
+                SELECT id, email, order_date, total_amount, order_status, '{}'::jsonb, now() FROM orders;
+            INSERT INTO order_items (product_id, order_id, quantity, discount, ordered_product_price)
+                SELECT ((g * 31) % 200000) + 1, ((g - 1) / 2) + 1, 1, 0, 9.99 FROM generate_series(1, 400000) g;
+            INSERT INTO refresh_tokens (token_hash, family_id, user_id, created_at, expires_at)
+                SELECT md5(g::text), 'family-' || (g / 4), (g % 50000) + 1, now() - g * interval '1 second',
+                       now() + interval '14 days' - g * interval '1 second'
+                FROM generate_series(1, 200000) g;
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at, published_at)
+                SELECT CASE WHEN g % 10 = 0 THEN 'Product' ELSE 'Order' END, g::text,
+                       CASE WHEN g % 10 = 0 THEN 'ProductChanged' ELSE 'OrderPlaced' END, '{}'::jsonb,
+                       now() - (200000 - g) * interval '1 second',
+                       CASE WHEN g <= 199900 THEN now() - (200000 - g) * interval '1 second' END
+                FROM generate_series(1, 200000) g;
+            INSERT INTO inbound_payment_events (event_id, pg_payment_id, pg_status, succeeded, amount, currency,
+                                                attempts, received_at, next_attempt_at, processed_at)
+                SELECT 'evt_' || g, 'pi_' || g, 'succeeded', true, 999, 'usd', 1,
+                       now() - (200000 - g) * interval '1 second', now() - (200000 - g) * interval '1 second',
+                       CASE WHEN g <= 199950 THEN now() - (200000 - g) * interval '1 second' END
+                FROM generate_series(1, 200000) g;
+            INSERT INTO consumed_events (consumer_name, event_id, handled_at)
+                SELECT consumer, g, now() - (200000 - g) * interval '1 second'
+                FROM generate_series(1, 200000) g, unnest(ARRAY['order-summary', 'order-mail']) consumer;
+            """;
+
+    private static final List<CapturedStatement> captured = new ArrayList<>();
+
+    private static volatile boolean recording;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private InboundPaymentEventRepository inboundPaymentEventRepository;
+
+    @Autowired
+    private ConsumedEventRepository consumedEventRepository;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeAll
+    void seed() throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(SEED);
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("AddressRepository.findByUsersUserId",
+                        () -> addressRepository.findByUsersUserId(4242L)),
+                query("AddressRepository.findByAddressIdAndUsersEmail",
+                        () -> addressRepository.findByAddressIdAndUsersEmail(4242L, "user4242@example.com")),
+                query("AddressRepository.findByUsersUserIdAndContentHash",
+                        () -> addressRepository.findByUsersUserIdAndContentHash(4242L, "abc")),
+                query("AddressRepository.findByAddressIdAndUsersUserId",
+                        () -> addressRepository.findByAddressIdAndUsersUserId(4242L, 4242L)),
+                query("AddressRepository.findIdByUsersUserIdAndContentHash",
+                        () -> addressRepository.findIdByUsersUserIdAndContentHash(4242L, "abc")),
+                query("AddressRepository.findUnhashedAfter",
+                        () -> addressRepository.findUnhashedAfter(4242L, PageRequest.of(0, 500))),
+                query("AddressRepository.updateNormalized",
+                        () -> addressRepository.updateNormalized(4242L, "Street 4242", "Building 4242", "Bengaluru",
+                                "Karnataka", "India", "560001", "abc")),
+                query("OrderRepository.reassignAddress",
+                        () -> orderRepository.reassignAddress(4242L, 42L)),
+                query("AddressRepository.deleteByAddressIdIn (after reassignAddress)",
+                        () -> {
+                            orderRepository.reassignAddress(4242L, 42L);
+                            addressRepository.deleteByAddressIdIn(List.of(4242L));
+                        }),
+                pagedOverAllRows("AddressRepository.findAllAsDto",
+                        () -> addressRepository.findAllAsDto(PageRequest.of(0, 10, Sort.by("addressId")))),
+                query("CartItemRepository.findCartItemByProductIdAndCartId",
+                        () -> cartItemRepository.findCartItemByProductIdAndCartId(42L, 1337L)),
+                query("CartItemRepository.deleteCartItemByProductIdAndCartId",
+                        () -> cartItemRepository.deleteCartItemByProductIdAndCartId(42L, 1337L)),
+                query("CartItemRepository.deleteAllByCartId",
+                        () -> cartItemRepository.deleteAllByCartId(42L)),
+                query("CartRepository.findById (with Cart.cartItems)",
+                        () -> cartRepository.findById(42L)),
+                query("CartRepository.findCartByEmail",
+                        () -> cartRepository.findCartByEmail("user42@example.com")),
+                query("CartRepository.findCartByEmailAndCartId",
+                        () -> cartRepository.findCartByEmailAndCartId("user42@example.com", 42L)),
+                query("CartRepository.findCartsByProductId",
+                        () -> cartRepository.findCartsByProductId(1337L)),
+                query("ProductRepository.findById (with Product.products)",
+                        () -> productRepository.findById(1337L)),
+                query("ProductRepository.findFacetRowsByProductIdIn",
+                        () -> productRepository.findFacetRowsByProductIdIn(List.of(1337L, 1338L, 4242L))),
+                query("OrderItemRepository.existsByProductProductId",
+                        () -> orderItemRepository.existsByProductProductId(1337L)),
+                query("OrderItemRepository.findOrderIdsWithSellerProducts",
+                        () -> orderItemRepository.findOrderIdsWithSellerProducts(List.of(4242L, 4243L), 4200L)),
+                query("OrderRepository.findById (with Order.orderItems)",
+                        () -> orderRepository.findById(4242L).ifPresent(order -> order.getOrderItems().size())),
+                // A full first page makes Spring Data run the count query as well
+                query("OrderRepository.findByEmail",
+                        () -> orderRepository.findByEmail("user42@example.com",
+                                PageRequest.of(0, 2, Sort.by("totalAmount")))),
+                query("OrderSummaryRepository.findByEmail",
+                        () -> orderSummaryRepository.findByEmail("user42@example.com",
+                                PageRequest.of(0, 2, Sort.by("totalAmount")))),
+                query("OrderRepository.findStatusesByIdIn",
+                        () -> orderRepository.findStatusesByIdIn(List.of(4242L, 4243L))),
+                query("OrderRepository.transitionStatus",
+                        () -> orderRepository.transitionStatus(List.of(4242L, 4243L),
+                                OrderStatus.sourcesOf(OrderStatus.SHIPPED), OrderStatus.SHIPPED)),
+                query("OrderSummaryRepository.updateStatus",
+                        () -> orderSummaryRepository.updateStatus(List.of(4242L, 4243L), OrderStatus.SHIPPED,
+                                Instant.now())),
+                pagedOverAllRows("OrderRepository.findAll(Pageable)",
+                        () -> orderRepository.findAll(PageRequest.of(0, 10, Sort.by("totalAmount").descending()))),
+                query("PaymentRepository.findByPgPaymentId",
+                        () -> paymentRepository.findByPgPaymentId("pi_4242")),
+                query("PaymentRepository.existsByPgPaymentId",
+                        () -> paymentRepository.existsByPgPaymentId("pi_4242")),
+                query("ProductRepository.findByUser",
+                        () -> productRepository.findByUser(userRepository.getReferenceById(4200L),
+                                PageRequest.of(0, 10, Sort.by("productId")))),
+                pagedOverAllRows("ProductSpecifications.isActive",
+                        () -> productRepository.findAll(ProductSpecifications.isActive(),
+                                PageRequest.of(0, 10, Sort.by("productId")))),
+                query("ProductSpecifications.inCategory",
+                        () -> productRepository.findAll(
+                                ProductSpecifications.isActive().and(ProductSpecifications.inCategory(7L)),
+                                PageRequest.of(0, 10, Sort.by("price").descending()))),
+                query("ProductSpecifications.nameContains",
+                        () -> productRepository.findAll(
+                                ProductSpecifications.isActive().and(ProductSpecifications.nameContains("a1b2")),
+                                PageRequest.of(0, 10, Sort.by("productId")))),
+                query("UserRepository.findByUserName",
+                        () -> userRepository.findByUserName("user42")),
+                query("UserRepository.existsByEmail",
+                        () -> userRepository.existsByEmail("user42@example.com")),
+                // Postgres has no statistics across the role join and estimates a third of all users per role
+                pagedOverAllRows("UserRepository.findByRoleName",
+                        () -> userRepository.findByRoleName(AppRole.ROLE_SELLER,
+                                PageRequest.of(0, 10, Sort.by("userId").descending()))),
+                query("RefreshTokenRepository.findByTokenHash",
+                        () -> refreshTokenRepository.findByTokenHash(md5("4242"))),
+                query("RefreshTokenRepository.revoke",
+                        () -> refreshTokenRepository.revoke(4242L, Instant.now())),
+                query("RefreshTokenRepository.revokeFamily",
+                        () -> refreshTokenRepository.revokeFamily("family-1060", Instant.now())),
+                query("RefreshTokenRepository.deleteExpiredBefore",
+                        () -> refreshTokenRepository.deleteExpiredBefore(Instant.now())),
+                query("OutboxEventRepository.lockUnpublishedBatch",
+                        () -> outboxEventRepository.lockUnpublishedBatch(Instant.now(), 100)),
+                query("OutboxEventRepository.markPublished",
+                        () -> outboxEventRepository.markPublished(List.of(199950L, 199951L), Instant.now())),
+                query("OutboxEventRepository.findLatestIdCreatedBefore",
+                        () -> outboxEventRepository.findLatestIdCreatedBefore(Instant.now().minusSeconds(1))),
+                query("OutboxEventRepository.findByAggregateTypeInRange",
+                        () -> outboxEventRepository.findByAggregateTypeInRange("Product", 199000L, 199990L, 500)),
+                query("OutboxEventRepository.deletePublishedBefore",
+                        () -> outboxEventRepository.deletePublishedBefore(Instant.now().minus(72, ChronoUnit.HOURS))),
+                query("InboundPaymentEventRepository.insertIfAbsent",
+                        () -> inboundPaymentEventRepository.insertIfAbsent("evt_4242", "pi_4242", "succeeded", null,
+                                true, 999L, "usd", Instant.now(), Instant.now())),
+                query("InboundPaymentEventRepository.lockNextDue",
+                        () -> inboundPaymentEventRepository.lockNextDue(Instant.now())),
+                query("InboundPaymentEventRepository.reschedule",
+                        () -> inboundPaymentEventRepository.reschedule(199990L, 2, Instant.now())),
+                query("InboundPaymentEventRepository.countUnprocessed",
+                        () -> inboundPaymentEventRepository.countUnprocessed()),
+                query("InboundPaymentEventRepository.markDead",
+                        () -> inboundPaymentEventRepository.markDead(199991L, 12, Instant.now())),
+                query("InboundPaymentEventRepository.countDead",
+                        () -> inboundPaymentEventRepository.countDead()),
+                query("InboundPaymentEventRepository.deleteDeadBefore",
+                        () -> inboundPaymentEventRepository.deleteDeadBefore(Instant.now().minus(72, ChronoUnit.HOURS))),
+                query("InboundPaymentEventRepository.deleteProcessedBefore",
+                        () -> inboundPaymentEventRepository.deleteProcessedBefore(
+                                Instant.now().minus(72, ChronoUnit.HOURS))),
+                query("ConsumedEventRepository.findHandledEventIds",
+                        () -> consumedEventRepository.findHandledEventIds("order-summary", List.of(4242L, 4243L))),
+                query("ConsumedEventRepository.markHandled",
+                        () -> consumedEventRepository.markHandled("order-summary", 4242L)),
+                query("ConsumedEventRepository.deleteHandledBefore",
+                        () -> consumedEventRepository.deleteHandledBefore(Instant.now().minus(72, ChronoUnit.HOURS)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryDoesNotSequentiallyScanLargeTables(String query, RepositoryCall call, boolean pagedOverAllRows)
+            throws SQLException {
+        List<CapturedStatement> statements = capture(call);
+        assertFalse(statements.isEmpty(), () -> query + " did not reach the database");
+        for (CapturedStatement statement : statements) {
+            if (pagedOverAllRows && statement.sql().startsWith("select count(")) {
+                continue;
+            }
+            List<String> plan = explain(statement);
+            for (String line : plan) {
+                for (String table : LARGE_TABLES) {
+                    assertFalse(line.contains("Seq Scan on " + table + " "),
+                            () -> query + " falls back to a sequential scan on " + table + ":\n"
+                                    + statement.sql() + "\n" + String.join("\n", plan));
+                }
+            }
+        }
+    }
+
+    private static String md5(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Arguments query(String name, RepositoryCall call) {
+        return Arguments.of(name, call, false);
+    }
+
+    // Paging over every row: the page itself must use an index, the count behind it cannot
+    private static Arguments pagedOverAllRows(String name, RepositoryCall call) {
+        return Arguments.of(name, call, true);
+    }
+
+    // Runs inside the test transaction, so DML issued by the call is rolled back afterwards
+    private static List<CapturedStatement> capture(RepositoryCall call) {
+        synchronized (captured) {
+            captured.clear();
+        }
+        recording = true;
+        try {
+            call.run();
+        } finally {
+            recording = false;
+        }
+        synchronized (captured) {
+            return new ArrayList<>(captured);
+        }
+    }
+
+    private List<String> explain(CapturedStatement statement) throws SQLException {
+        // Hibernate only emits ? as a bind marker, so the statement can be prepared as is with numbered parameters
+        StringBuilder sql = new StringBuilder();
+        int parameter = 0;
+        for (char c : statement.sql().toCharArray()) {
+            if (c == '?') {
+                sql.append('$').append(++parameter);
+            } else {
+                sql.append(c);
+            }
+        }
+        StringJoiner arguments = new StringJoiner(", ", "(", ")").setEmptyValue("");
+        for (Object value : statement.parameters()) {
+            arguments.add(literal(value));
+        }
+
+        List<String> plan = new ArrayList<>();
+        // A connection of its own, closed afterwards, so the prepared statement does not outlive the check
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement jdbc = connection.createStatement()) {
+                // Plan with the values the repository bound, as the first executions in production are
+                jdbc.execute("SET LOCAL plan_cache_mode = force_custom_plan");
+                jdbc.execute("PREPARE plan_check AS " + sql);
+                try (ResultSet resultSet = jdbc.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1) + " ");
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+        return plan;
+    }
+
+    // Untyped literals take the type Postgres infers for the parameter
+    private static String literal(Object value) throws SQLException {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof java.sql.Array array) {
+            value = array.getArray();
+        }
+        if (value.getClass().isArray()) {
+            StringJoiner elements = new StringJoiner(",", "{", "}");
+            for (int i = 0; i < Array.getLength(value); i++) {
+                Object element = Array.get(value, i);
+                elements.add(element == null ? "NULL"
+                        : "\"" + element.toString().replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
+            }
+            return "'" + elements.toString().replace("'", "''") + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run();
+    }
+
+    record CapturedStatement(String sql, List<Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(QueryPlanRegressionTest.class.getClassLoader(),
+                            new Class<?>[]{DataSource.class, AutoCloseable.class}, (proxy, method, args) -> {
+                                Object result = invoke(bean, method, args);
+                                return result instanceof Connection connection ? recording(connection) : result;
+                            });
+                }
+            };
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(QueryPlanRegressionTest.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                            return Proxy.newProxyInstance(QueryPlanRegressionTest.class.getClassLoader(),
+                                    new Class<?>[]{method.getReturnType()}, new RecordingStatement(result, sql));
+                        }
+                        return result;
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static final class RecordingStatement implements InvocationHandler {
+
+            private final Object target;
+
+            private final String sql;
+
+            private final Map<Integer, Object> parameters = new TreeMap<>();
+
+            private RecordingStatement(Object target, String sql) {
+                this.target = target;
+                this.sql = sql;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (recording && (args == null || args.length == 0) && (name.equals("execute")
+                        || name.equals("executeQuery") || name.equals("executeUpdate"))) {
+                    synchronized (captured) {
+                        captured.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+                    }
+                }
+                return RecordingDataSourceConfig.invoke(target, method, args);
+            }
+        }
+    }
+}
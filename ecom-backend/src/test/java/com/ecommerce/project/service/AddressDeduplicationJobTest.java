@@ -0,0 +1,104 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.util.AddressNormalizer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs the deduplication job against an embedded Postgres migrated with Flyway, with chunks of three addresses so
+ * duplicates are found within a chunk, across a chunk boundary and against a copy that was already hashed.
+ */
+@DataJpaTest(properties = "address.dedup.chunk-size=3")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AddressDeduplicationJob.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AddressDeduplicationJobTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private AddressDeduplicationJob addressDeduplicationJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void mergesDuplicatesAndMovesTheirOrders() {
+        String hashedStreet = "7 Lake Road";
+        String hashedHash = AddressNormalizer.contentHash(hashedStreet, "Villa 3", "Mysuru", "Karnataka", "India",
+                "570001");
+        jdbcTemplate.execute("""
+                INSERT INTO users (user_id, username, email, password)
+                    VALUES (1, 'first', 'first@example.com', 'unused'), (2, 'second', 'second@example.com', 'unused');
+                INSERT INTO addresses (address_id, street, building_name, city, state, country, pincode, user_id)
+                    VALUES (1, '12  MG Road ', 'Tower A', 'Bengaluru', 'Karnataka', 'India', '560 001', 1),
+                           (2, '12 mg road', 'TOWER A', 'bengaluru', 'KARNATAKA', 'india', '560001', 1),
+                           (3, '12 MG Road', 'Tower A', 'Bengaluru', 'Karnataka', 'India', '560001', 2),
+                           (4, '12 MG ROAD', 'Tower  A', 'Bengaluru', 'Karnataka', 'India', '560001', 1),
+                           (5, '7  lake road', 'villa 3', 'MYSURU', 'Karnataka', 'India', '570 001', 2);
+                INSERT INTO orders (id, email, order_date, total_amount, order_status, address_id)
+                    VALUES (101, 'first@example.com', current_date, 10, 'Accepted', 1),
+                           (102, 'first@example.com', current_date, 10, 'Accepted', 2),
+                           (103, 'first@example.com', current_date, 10, 'Accepted', 4),
+                           (104, 'second@example.com', current_date, 10, 'Accepted', 5);
+                """);
+        // Saved after the normalizer existed, so it is already hashed and is the copy that is kept
+        jdbcTemplate.update("INSERT INTO addresses (address_id, street, building_name, city, state, country, "
+                        + "pincode, user_id, content_hash) VALUES (6, ?, 'Villa 3', 'Mysuru', 'Karnataka', 'India', "
+                        + "'570001', 2, ?)", hashedStreet, hashedHash);
+        jdbcTemplate.update("INSERT INTO orders (id, email, order_date, total_amount, order_status, address_id) "
+                + "VALUES (105, 'second@example.com', current_date, 10, 'Accepted', 6)");
+
+        addressDeduplicationJob.scheduledRun();
+
+        assertEquals(List.of(1L, 3L, 6L),
+                jdbcTemplate.queryForList("SELECT address_id FROM addresses ORDER BY address_id", Long.class));
+        Map<Long, Long> orderAddresses = new HashMap<>();
+        jdbcTemplate.queryForList("SELECT id, address_id FROM orders").forEach(row -> orderAddresses.put(
+                ((Number) row.get("id")).longValue(), ((Number) row.get("address_id")).longValue()));
+        assertEquals(Map.of(101L, 1L, 102L, 1L, 103L, 1L, 104L, 6L, 105L, 6L), orderAddresses);
+
+        Map<String, Object> kept = jdbcTemplate.queryForMap(
+                "SELECT street, pincode, content_hash FROM addresses WHERE address_id = 1");
+        assertEquals("12 MG Road", kept.get("street"));
+        assertEquals("560001", kept.get("pincode"));
+        assertNotNull(kept.get("content_hash"));
+        // Same address, different user: hashed alike but kept apart
+        String otherUsersHash = jdbcTemplate.queryForObject(
+                "SELECT content_hash FROM addresses WHERE address_id = 3", String.class);
+        assertEquals(kept.get("content_hash"), otherUsersHash);
+        assertNotEquals(kept.get("content_hash"), hashedHash);
+    }
+}
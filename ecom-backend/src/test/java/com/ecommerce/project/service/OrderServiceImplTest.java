@@ -0,0 +1,172 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderStatus;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.model.Users;
+import com.ecommerce.project.payload.BulkOrderStatusUpdateResponse;
+import com.ecommerce.project.payload.OrderStatusUpdateOutcome;
+import com.ecommerce.project.payload.PaymentEvent;
+import com.ecommerce.project.repositories.AddressRepository;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.repositories.OrderItemRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.repositories.OrderSummaryRepository;
+import com.ecommerce.project.repositories.PaymentRepository;
+import com.ecommerce.project.util.AuthUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private AuthUtil authUtil;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private Payment payment;
+
+    private Order order;
+
+    @BeforeEach
+    void pendingOrder() {
+        ReflectionTestUtils.setField(orderService, "paymentCurrency", "usd");
+        order = new Order();
+        order.setId(42L);
+        order.setEmail("user42@example.com");
+        order.setTotalAmount(19.99);
+        order.setOrderStatus(OrderStatus.PAYMENT_PENDING);
+        payment = new Payment("card", "pi_42", "pending", "Awaiting payment confirmation", "Stripe");
+        payment.setOrder(order);
+        order.setPayment(payment);
+        lenient().when(paymentRepository.findByPgPaymentId("pi_42")).thenReturn(Optional.of(payment));
+        lenient().when(orderSummaryRepository.findById(42L)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void acceptsOrderPaidInFull() {
+        assertTrue(orderService.applyPaymentEvent(succeeded(1999L, "usd")));
+
+        assertEquals(OrderStatus.ACCEPTED, order.getOrderStatus());
+        assertEquals("succeeded", payment.getPgStatus());
+    }
+
+    @Test
+    void rejectsPaymentForADifferentAmount() {
+        assertTrue(orderService.applyPaymentEvent(succeeded(100L, "usd")));
+
+        assertEquals(OrderStatus.PAYMENT_FAILED, order.getOrderStatus());
+        assertTrue(payment.getPgResponseMessage().contains("order total is 1999"));
+    }
+
+    @Test
+    void rejectsPaymentInAnotherCurrency() {
+        orderService.applyPaymentEvent(succeeded(1999L, "inr"));
+
+        assertEquals(OrderStatus.PAYMENT_FAILED, order.getOrderStatus());
+    }
+
+    @Test
+    void ignoresFailureArrivingAfterConfirmation() {
+        orderService.applyPaymentEvent(succeeded(1999L, "usd"));
+        orderService.applyPaymentEvent(new PaymentEvent("evt_2", "pi_42", "requires_payment_method", "Card declined",
+                false, 1999L, "usd"));
+
+        assertEquals(OrderStatus.ACCEPTED, order.getOrderStatus());
+        assertEquals("succeeded", payment.getPgStatus());
+        assertEquals("Payment successful", payment.getPgResponseMessage());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+    }
+
+    @Test
+    void rejectsOrderWithoutGatewayPayment() {
+        when(cartRepository.findCartByEmail("user42@example.com")).thenReturn(new Cart());
+        when(addressRepository.findByAddressIdAndUsersEmail(7L, "user42@example.com"))
+                .thenReturn(Optional.of(new Address()));
+
+        assertThrows(APIException.class,
+                () -> orderService.placeOrder("user42@example.com", 7L, "card", "Stripe", " "));
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void leavesPaymentStatesOnlyThroughPaymentEvents() {
+        when(orderRepository.findStatusesByIdIn(anyCollection())).thenReturn(
+                List.<Object[]>of(new Object[]{42L, OrderStatus.PAYMENT_PENDING, "user42@example.com"}));
+
+        BulkOrderStatusUpdateResponse response = orderService.updateOrders(List.of(42L), "Accepted");
+
+        assertEquals(OrderStatusUpdateOutcome.REJECTED, response.getResults().get(0).getOutcome());
+        verify(orderRepository, never()).transitionStatus(anyCollection(), anyCollection(), any());
+    }
+
+    @Test
+    void sellerOnlyUpdatesOrdersWithTheirProducts() {
+        Users seller = new Users();
+        seller.setUserId(7L);
+        when(authUtil.loggedInUser()).thenReturn(seller);
+        when(orderRepository.findStatusesByIdIn(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, OrderStatus.ACCEPTED, "user1@example.com"},
+                new Object[]{2L, OrderStatus.ACCEPTED, "user2@example.com"}));
+        when(orderItemRepository.findOrderIdsWithSellerProducts(anyCollection(), eq(7L))).thenReturn(List.of(1L));
+        when(orderRepository.transitionStatus(List.of(1L), OrderStatus.sourcesOf(OrderStatus.SHIPPED),
+                OrderStatus.SHIPPED)).thenReturn(1);
+
+        BulkOrderStatusUpdateResponse response = orderService.updateSellerOrders(List.of(1L, 2L), "Shipped");
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(OrderStatusUpdateOutcome.UPDATED, response.getResults().get(0).getOutcome());
+        assertEquals(OrderStatusUpdateOutcome.NOT_FOUND, response.getResults().get(1).getOutcome());
+    }
+
+    private PaymentEvent succeeded(Long amount, String currency) {
+        return new PaymentEvent("evt_1", "pi_42", "succeeded", "Payment successful", true, amount, currency);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.model.Address;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AddressNormalizerTest {
+
+    @Test
+    void normalizesWhitespaceAndPincode() {
+        Address address = address("  12  MG   Road ", "Tower\tA", "Bengaluru", "Karnataka", "India", " 560 001 ");
+        AddressNormalizer.normalize(address);
+
+        assertEquals("12 MG Road", address.getStreet());
+        assertEquals("Tower A", address.getBuildingName());
+        assertEquals("560001", address.getPincode());
+    }
+
+    @Test
+    void hashIgnoresCaseAndSpacing() {
+        Address first = address("12 MG Road", "Tower A", "Bengaluru", "Karnataka", "India", "560001");
+        Address second = address("12  mg road ", "TOWER A", "bengaluru", "KARNATAKA", "india", "560 001");
+        AddressNormalizer.normalize(first);
+        AddressNormalizer.normalize(second);
+
+        assertEquals(first.getContentHash(), second.getContentHash());
+    }
+
+    @Test
+    void hashKeepsFieldBoundaries() {
+        String joined = AddressNormalizer.contentHash("12 MG", "Road", "Bengaluru", "Karnataka", "India", "560001");
+        String split = AddressNormalizer.contentHash("12", "MG Road", "Bengaluru", "Karnataka", "India", "560001");
+
+        assertNotEquals(joined, split);
+    }
+
+    private Address address(String street, String buildingName, String city, String state, String country,
+                            String pincode) {
+        Address address = new Address();
+        address.setStreet(street);
+        address.setBuildingName(buildingName);
+        address.setCity(city);
+        address.setState(state);
+        address.setCountry(country);
+        address.setPincode(pincode);
+        return address;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void tracksTheMostFrequentKeys() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(1024, 3);
+        for (int i = 0; i < 2000; i++) {
+            sketch.add("page-" + i);
+            if (i % 2 == 0) {
+                sketch.add("hot");
+            }
+            if (i % 4 == 0) {
+                sketch.add("warm");
+            }
+        }
+
+        List<String> top = sketch.top(2);
+        assertEquals(List.of("hot", "warm"), top);
+        assertTrue(sketch.estimate("hot") > sketch.estimate("warm"));
+    }
+
+    @Test
+    void neverUndercountsBeforeAging() {
+        FrequencySketch<Integer> sketch = new FrequencySketch<>(64, 8);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(i % 10);
+        }
+        for (int key = 0; key < 10; key++) {
+            assertTrue(sketch.estimate(key) >= 10);
+        }
+    }
+}
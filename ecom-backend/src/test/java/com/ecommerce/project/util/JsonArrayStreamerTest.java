@@ -0,0 +1,63 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.payload.AddressDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonArrayStreamerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonArrayStreamer streamer = new JsonArrayStreamer();
+
+    JsonArrayStreamerTest() {
+        ReflectionTestUtils.setField(streamer, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void writesEveryEmittedElementAsOneArray() throws IOException {
+        List<AddressDTO> addresses = List.of(
+                new AddressDTO(1L, "Street 1", "Building 1", "Bengaluru", "Karnataka", "India", "560001"),
+                new AddressDTO(2L, "Street 2", "Building 2", "Mysuru", "Karnataka", "India", "570001"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamer.write(out, (Consumer<AddressDTO> consumer) -> addresses.forEach(consumer));
+
+        assertEquals(addresses, objectMapper.readValue(out.toByteArray(), new TypeReference<List<AddressDTO>>() {
+        }));
+    }
+
+    @Test
+    void writesAnEmptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.write(out, consumer -> {
+        });
+        assertEquals("[]", out.toString());
+    }
+
+    @Test
+    void propagatesClientDisconnects() {
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        assertThrows(IOException.class, () -> streamer.write(closed, (Consumer<String> consumer) -> {
+            for (int i = 0; i < 100_000; i++) {
+                consumer.accept("element " + i);
+            }
+        }));
+    }
+}
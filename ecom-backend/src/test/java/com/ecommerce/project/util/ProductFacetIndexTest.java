@@ -0,0 +1,78 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.util.ProductFacetIndex.Entry;
+import com.ecommerce.project.util.ProductFacetIndex.Facet;
+import com.ecommerce.project.util.ProductFacetIndex.Query;
+import com.ecommerce.project.util.ProductFacetIndex.Result;
+import com.ecommerce.project.util.ProductFacetIndex.SortField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductFacetIndexTest {
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex(new double[]{0, 500, 1000}, new double[]{0, 10, 25});
+        index.replaceAll(List.of(
+                new Entry(1, "Phone", 1L, 100L, 800, 720, 10, 5),
+                new Entry(2, "Phone case", 1L, 200L, 20, 20, 0, 0),
+                new Entry(3, "Laptop", 1L, 100L, 1500, 1125, 25, 2),
+                new Entry(4, "Desk", 2L, 200L, 300, 300, 0, 7)));
+    }
+
+    @Test
+    void countsEachFacetWithoutItsOwnFilter() {
+        Result result = index.search(new Query(null, Map.of(Facet.CATEGORY, List.of(1L))),
+                SortField.PRODUCT_ID, true, 0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L), result.productIds());
+        assertEquals(3, result.totalElements());
+        assertEquals(Map.of(1L, 3, 2L, 1), result.facets().get(Facet.CATEGORY));
+        assertEquals(Map.of(100L, 2, 200L, 1), result.facets().get(Facet.SELLER));
+        assertEquals(Map.of(0L, 1, 1L, 1, 2L, 1), result.facets().get(Facet.PRICE));
+        assertEquals(Map.of(0L, 1, 1L, 2), result.facets().get(Facet.IN_STOCK));
+    }
+
+    @Test
+    void combinesFiltersAndKeyword() {
+        Result result = index.search(new Query("PHONE", Map.of(Facet.IN_STOCK, List.of(1L))),
+                SortField.PRODUCT_ID, true, 0, 10);
+
+        assertEquals(List.of(1L), result.productIds());
+        assertEquals(Map.of(0L, 1, 1L, 1), result.facets().get(Facet.IN_STOCK));
+        assertEquals(Map.of(1L, 1), result.facets().get(Facet.DISCOUNT));
+    }
+
+    @Test
+    void sortsAndPages() {
+        Result result = index.search(new Query(null, Map.of()), SortField.SPECIAL_PRICE, false, 1, 2);
+
+        assertEquals(List.of(1L, 4L), result.productIds());
+        assertEquals(4, result.totalElements());
+    }
+
+    @Test
+    void appliesUpdatesAndRemovals() {
+        index.put(new Entry(2, "Phone case", 1L, 200L, 20, 20, 0, 3));
+        index.remove(3);
+
+        Result result = index.search(new Query(null, Map.of()), SortField.PRODUCT_ID, true, 0, 10);
+
+        assertEquals(List.of(1L, 2L, 4L), result.productIds());
+        assertEquals(Map.of(1L, 3), result.facets().get(Facet.IN_STOCK));
+        assertEquals(Map.of(0L, 2, 1L, 1), result.facets().get(Facet.PRICE));
+    }
+
+    @Test
+    void labelsBuckets() {
+        assertEquals(List.of("0-500", "500-1000", "1000+"), index.priceBucketLabels());
+        assertEquals(List.of("0-10", "10-25", "25+"), index.discountBucketLabels());
+    }
+}
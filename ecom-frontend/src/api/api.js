@@ -5,6 +5,29 @@ const api = axios.create({
     withCredentials: true,
 });
 
+// Access tokens are short-lived: on a 401, renew once through the refresh cookie and replay the request.
+// Concurrent 401s share one renewal, since each refresh token can only be used once.
+let refreshing = null;
+
+api.interceptors.response.use(
+    (response) => response,
+    async (error) => {
+        const original = error.config;
+        if (error.response?.status !== 401 || !original || original._retried
+                || original.url?.startsWith('/auth/')) {
+            return Promise.reject(error);
+        }
+        original._retried = true;
+        refreshing = refreshing || api.post('/auth/refresh').finally(() => { refreshing = null; });
+        try {
+            await refreshing;
+        } catch (refreshError) {
+            return Promise.reject(error);
+        }
+        return api(original);
+    }
+);
+
 export default api;
 
 export const summarizeProduct = async (product) => {
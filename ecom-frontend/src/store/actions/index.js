@@ -154,7 +154,13 @@ export const registerNewUser
 };
 
 
-export const logOutUser = (navigate) => (dispatch) => {
+// Revokes the refresh token and clears the auth cookies server-side; the local session is cleared even if that fails
+export const logOutUser = (navigate) => async (dispatch) => {
+    try {
+        await api.post("/auth/signout");
+    } catch (error) {
+        console.log(error);
+    }
     dispatch({ type:"LOG_OUT" });
     localStorage.removeItem("auth");
     navigate("/login");